@@ -0,0 +1,136 @@
+package app.fdm.service;
+
+import app.fdm.dto.Flight;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
+import app.fdm.repository.FlightRepository;
+import app.fdm.repository.model.FlightEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchHotPathBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<FlightEntity> entities;
+    private List<Flight> flights;
+    private CrazySupplierFlightSearchService.CrazySupplierResult[] supplierResults;
+    private List<FlightSearchResponse> responses;
+    private FlightSearchRequest request;
+    private FlightSearchRequest top20ByFare;
+    private FlightRouteIndex routeIndex;
+
+    @Setup
+    public void setUp() {
+        entities = SyntheticFlights.entities(size, SEED);
+        flights = SyntheticFlights.flights(size, SEED);
+        supplierResults = SyntheticFlights.supplierResults(size, SEED);
+        responses = SyntheticFlights.responses(2, size, SEED);
+        request = SyntheticFlights.request();
+        top20ByFare = SyntheticFlights.request();
+        top20ByFare.setSort(FlightSearchSort.FARE);
+        top20ByFare.setLimit(20);
+        routeIndex = new FlightRouteIndex(repositoryReturning(entities), true);
+        routeIndex.rebuild();
+    }
+
+    @Benchmark
+    public void localFilterMatch(Blackhole bh) {
+        for (FlightEntity entity : entities) {
+            bh.consume(LocalFlightSearchService.filterMatch(entity, request));
+        }
+    }
+
+    @Benchmark
+    public void localMapToServiceEntity(Blackhole bh) {
+        for (FlightEntity entity : entities) {
+            bh.consume(LocalFlightSearchService.mapToServiceEntity(entity));
+        }
+    }
+
+    @Benchmark
+    public List<FlightSearchResult> localRouteIndexSearch() {
+        return routeIndex.search(request);
+    }
+
+    @Benchmark
+    public FlightSearchResponse combine() {
+        return FlightSearchResponse.combine(responses);
+    }
+
+    @Benchmark
+    public FlightSearchResponse dedupCheapest() {
+        return SearchResultDedup.cheapest(responses, false);
+    }
+
+    @Benchmark
+    public FlightSearchResponse pageTop20ByFare() {
+        return SearchResultPaging.page(top20ByFare, responses);
+    }
+
+    @Benchmark
+    public void supplierMapToServiceEntity(Blackhole bh) {
+        for (CrazySupplierFlightSearchService.CrazySupplierResult result : supplierResults) {
+            bh.consume(CrazySupplierFlightSearchService.mapToServiceEntity(result));
+        }
+    }
+
+    @Benchmark
+    public void supplierToUtcDateTime(Blackhole bh) {
+        for (CrazySupplierFlightSearchService.CrazySupplierResult result : supplierResults) {
+            bh.consume(CrazySupplierFlightSearchService.toUtcDateTime(result.getOutboundDateTime()));
+        }
+    }
+
+    @Benchmark
+    public void toFlightEntity(Blackhole bh) {
+        for (Flight flight : flights) {
+            bh.consume(FlightService.toFlightEntity(flight));
+        }
+    }
+
+    @Benchmark
+    public void fromFlightEntity(Blackhole bh) {
+        for (FlightEntity entity : entities) {
+            bh.consume(FlightService.fromFlightEntity(entity));
+        }
+    }
+
+    private static FlightRepository repositoryReturning(List<FlightEntity> entities) {
+        return (FlightRepository) Proxy.newProxyInstance(FlightRepository.class.getClassLoader(), new Class<?>[]{FlightRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByIdGreaterThanOrderByIdAsc")) {
+                        long after = (Long) args[0];
+                        int max = ((Limit) args[1]).max();
+                        return entities.stream().filter(e -> e.getId() > after).limit(max).toList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,86 @@
+package app.fdm.service;
+
+import app.fdm.dto.Flight;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.repository.model.FlightEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class SyntheticFlights {
+
+    static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-01T00:00:00Z");
+
+    private static final String[] AIRLINES = {"Delta", "United", "Lufthansa", "KLM", "Air France", "Iberia", "Swiss", "Emirates"};
+
+    private SyntheticFlights() {
+    }
+
+    static List<FlightEntity> entities(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<FlightEntity> flights = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ZonedDateTime departure = BASE.plusMinutes(random.nextInt(60 * 24 * 90));
+            FlightEntity entity = new FlightEntity();
+            entity.setId((long) i + 1);
+            entity.setAirline(AIRLINES[random.nextInt(AIRLINES.length)]);
+            entity.setSupplier("Local");
+            entity.setFare(BigDecimal.valueOf(2_000 + random.nextInt(200_000), 2));
+            entity.setDepartureAirport("JFK");
+            entity.setDestinationAirport("LAX");
+            entity.setDepartureTime(departure);
+            entity.setArrivalTime(departure.plusMinutes(180 + random.nextInt(240)));
+            flights.add(entity);
+        }
+        return flights;
+    }
+
+    static List<Flight> flights(int size, long seed) {
+        return entities(size, seed).stream().map(FlightService::fromFlightEntity).toList();
+    }
+
+    static CrazySupplierFlightSearchService.CrazySupplierResult[] supplierResults(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        CrazySupplierFlightSearchService.CrazySupplierResult[] results = new CrazySupplierFlightSearchService.CrazySupplierResult[size];
+        for (int i = 0; i < size; i++) {
+            LocalDate outbound = BASE.toLocalDate().plusDays(random.nextInt(90));
+            CrazySupplierFlightSearchService.CrazySupplierResult result = new CrazySupplierFlightSearchService.CrazySupplierResult();
+            result.setCarrier(AIRLINES[random.nextInt(AIRLINES.length)]);
+            result.setBasePrice(20 + random.nextInt(2_000));
+            result.setTax(random.nextInt(200));
+            result.setDepartureAirportName("JFK");
+            result.setArrivalAirportName("LAX");
+            result.setOutboundDateTime(outbound.toString());
+            result.setInboundDateTime(outbound.plusDays(random.nextInt(2)).toString());
+            results[i] = result;
+        }
+        return results;
+    }
+
+    static List<FlightSearchResponse> responses(int sources, int size, long seed) {
+        List<FlightSearchResponse> responses = new ArrayList<>(sources);
+        for (int s = 0; s < sources; s++) {
+            List<FlightSearchResult> results = entities(size / sources, seed + s).stream()
+                    .map(LocalFlightSearchService::mapToServiceEntity)
+                    .toList();
+            responses.add(new FlightSearchResponse(results));
+        }
+        return responses;
+    }
+
+    static FlightSearchRequest request() {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+        request.setAirline("Delta");
+        request.setDepartureTime(BASE.plusDays(30));
+        request.setArrivalTime(BASE.plusDays(37));
+        return request;
+    }
+}
@@ -0,0 +1,54 @@
+package app.fdm.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long nanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("throughput", round(count / seconds));
+        summary.put("p50", millis(percentile(sorted, 0.50)));
+        summary.put("p90", millis(percentile(sorted, 0.90)));
+        summary.put("p99", millis(percentile(sorted, 0.99)));
+        summary.put("p999", millis(percentile(sorted, 0.999)));
+        summary.put("max", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
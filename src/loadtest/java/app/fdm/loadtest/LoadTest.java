@@ -0,0 +1,292 @@
+package app.fdm.loadtest;
+
+import app.fdm.FlightDataManagementApplication;
+import app.fdm.loadtest.LoadTestOptions.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+public class LoadTest {
+
+    private static final String[] AIRPORTS = {"JFK", "LAX", "SFO", "ORD", "ATL", "SEA"};
+    private static final String[] AIRLINES = {"Delta", "United", "Lufthansa", "KLM"};
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-01T00:00:00Z");
+    private static final int SCHEDULE_DAYS = 30;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String authorization;
+    private final LoadTestOptions options;
+    private final List<Long> flightIds = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadTest(String baseUrl, LoadTestOptions options) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString(("user:" + options.password()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (MockCrazySupplier supplier = new MockCrazySupplier(options.supplierLatency(), options.supplierJitter(),
+                options.supplierErrorRate(), options.supplierResults(), options.seed())) {
+            supplier.start();
+
+            ConfigurableApplicationContext app = null;
+            String baseUrl = options.target();
+            if (baseUrl == null) {
+                app = SpringApplication.run(FlightDataManagementApplication.class,
+                        "--server.port=0",
+                        "--crazy-supplier.url=" + supplier.url(),
+                        "--spring.security.user.password=" + options.password(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+                baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            } else {
+                System.out.println("Mock CrazySupplier listening on " + supplier.url());
+            }
+
+            try {
+                LoadTest loadTest = new LoadTest(baseUrl, options);
+                loadTest.seedFlights();
+                loadTest.run(options.warmup());
+                Map<Operation, LatencyRecorder> recorders = loadTest.run(options.duration());
+                loadTest.report(recorders);
+            } finally {
+                if (app != null) {
+                    app.close();
+                }
+            }
+        }
+    }
+
+    void seedFlights() {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int i = 0; i < options.seedFlights(); i++) {
+            pending.add(client.sendAsync(create(random), HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(this::rememberCreated));
+            if (pending.size() == 50) {
+                CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+                pending.clear();
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        System.out.printf("Seeded %d flights%n", flightIds.size());
+    }
+
+    Map<Operation, LatencyRecorder> run(Duration duration) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        SplittableRandom random = new SplittableRandom(options.seed());
+        int totalWeight = options.mix().values().stream().mapToInt(Integer::intValue).sum();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rps();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            parkUntil(scheduled);
+            Operation operation = pick(random, totalWeight);
+            HttpRequest request = request(operation, random);
+            if (request == null) {
+                continue;
+            }
+            LatencyRecorder recorder = recorders.get(operation);
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        boolean success = error == null && response.statusCode() < 400;
+                        recorder.record(System.nanoTime() - scheduled, success);
+                        if (success && operation == Operation.CREATE) {
+                            rememberCreated(response);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return recorders;
+    }
+
+    void report(Map<Operation, LatencyRecorder> recorders) throws IOException {
+        double seconds = options.duration().toMillis() / 1000.0;
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> results.put(operation.name(), recorder.summary(seconds)));
+
+        JsonNode baseline = options.baseline() == null ? null : objectMapper.readTree(new File(options.baseline())).path("results");
+        System.out.printf("%-8s %8s %7s %9s %9s %9s %9s %9s %9s%n", "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        results.forEach((operation, summary) -> {
+            System.out.printf("%-8s %8s %7s %9s %9s %9s %9s %9s %9s%n", operation, summary.get("count"), summary.get("errors"),
+                    summary.get("throughput"), summary.get("p50"), summary.get("p90"), summary.get("p99"), summary.get("p999"), summary.get("max"));
+            if (baseline != null && baseline.has(operation)) {
+                System.out.printf("%-8s %8s %7s %9s %9s %9s %9s %9s%n", "vs base", "", "",
+                        change(summary, baseline.get(operation), "throughput"), change(summary, baseline.get(operation), "p50"),
+                        change(summary, baseline.get(operation), "p90"), change(summary, baseline.get(operation), "p99"),
+                        change(summary, baseline.get(operation), "p999"));
+            }
+        });
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("options", options);
+        document.put("results", results);
+        File output = new File(options.output());
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(output, document);
+        System.out.println("Results written to " + output);
+    }
+
+    private static String change(Map<String, Object> summary, JsonNode baseline, String field) {
+        double before = baseline.path(field).asDouble();
+        if (before == 0) {
+            return "n/a";
+        }
+        double after = ((Number) summary.get(field)).doubleValue();
+        return String.format("%+.1f%%", (after - before) * 100 / before);
+    }
+
+    private Operation pick(SplittableRandom random, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : options.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) {
+        return switch (operation) {
+            case SEARCH -> search(random);
+            case CREATE -> create(random);
+            case GET -> withFlightId(random, false, id -> builder("/flights/" + id).GET().build());
+            case UPDATE -> withFlightId(random, false, id -> builder("/flights/" + id)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(flightJson(random))).build());
+            case DELETE -> withFlightId(random, true, id -> builder("/flights/" + id).DELETE().build());
+        };
+    }
+
+    private HttpRequest search(SplittableRandom random) {
+        String[] route = route(random);
+        ZonedDateTime departure = BASE.plusDays(random.nextInt(SCHEDULE_DAYS));
+        return builder("/flights/search?from=" + route[0] + "&to=" + route[1]
+                + "&departureTime=" + departure.toOffsetDateTime()
+                + "&arrivalTime=" + departure.plusDays(1 + random.nextInt(3)).toOffsetDateTime())
+                .GET().build();
+    }
+
+    private HttpRequest create(SplittableRandom random) {
+        return builder("/flights")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(flightJson(random)))
+                .build();
+    }
+
+    private HttpRequest withFlightId(SplittableRandom random, boolean remove, LongFunction<HttpRequest> request) {
+        long id;
+        synchronized (flightIds) {
+            if (flightIds.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(flightIds.size());
+            id = flightIds.get(index);
+            if (remove) {
+                flightIds.set(index, flightIds.get(flightIds.size() - 1));
+                flightIds.remove(flightIds.size() - 1);
+            }
+        }
+        return request.apply(id);
+    }
+
+    private void rememberCreated(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            return;
+        }
+        try {
+            long id = objectMapper.readTree(response.body()).path("id").asLong();
+            synchronized (flightIds) {
+                flightIds.add(id);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected create response " + response.body(), e);
+        }
+    }
+
+    private String flightJson(SplittableRandom random) {
+        String[] route = route(random);
+        ZonedDateTime departure = BASE.plusMinutes(random.nextInt(SCHEDULE_DAYS * 24 * 60));
+        Map<String, Object> flight = new LinkedHashMap<>();
+        flight.put("airline", AIRLINES[random.nextInt(AIRLINES.length)]);
+        flight.put("supplier", "LoadTest");
+        flight.put("fare", 50 + random.nextInt(900));
+        flight.put("departureAirport", route[0]);
+        flight.put("destinationAirport", route[1]);
+        flight.put("departureTime", departure.toString());
+        flight.put("arrivalTime", departure.plusMinutes(90 + random.nextInt(360)).toString());
+        try {
+            return objectMapper.writeValueAsString(flight);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String[] route(SplittableRandom random) {
+        int from = random.nextInt(AIRPORTS.length);
+        int to = (from + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+        return new String[]{AIRPORTS[from], AIRPORTS[to]};
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization);
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
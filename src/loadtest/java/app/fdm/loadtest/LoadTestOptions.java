@@ -0,0 +1,64 @@
+package app.fdm.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+record LoadTestOptions(
+        int rps,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        int seedFlights,
+        Map<Operation, Integer> mix,
+        Duration supplierLatency,
+        Duration supplierJitter,
+        double supplierErrorRate,
+        int supplierResults,
+        String target,
+        String password,
+        String baseline,
+        String output
+) {
+
+    enum Operation {
+        SEARCH, CREATE, GET, UPDATE, DELETE
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rps", "200")),
+                Duration.parse("PT" + values.getOrDefault("warmup", "10s")),
+                Duration.parse("PT" + values.getOrDefault("duration", "30s")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("seed-flights", "1000")),
+                parseMix(values.getOrDefault("mix", "search:80,create:8,get:6,update:4,delete:2")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("supplier-latency-ms", "50"))),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("supplier-jitter-ms", "20"))),
+                Double.parseDouble(values.getOrDefault("supplier-error-rate", "0.01")),
+                Integer.parseInt(values.getOrDefault("supplier-results", "20")),
+                values.get("target"),
+                values.getOrDefault("password", "loadtest"),
+                values.get("baseline"),
+                values.getOrDefault("output", "target/loadtest-result.json")
+        );
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,106 @@
+package app.fdm.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class MockCrazySupplier implements AutoCloseable {
+
+    private static final String[] CARRIERS = {"Delta", "United", "Lufthansa", "KLM", "Air France", "Iberia"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final int results;
+    private final long seed;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    MockCrazySupplier(Duration latency, Duration jitter, double errorRate, int results, long seed) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.results = results;
+        this.seed = seed;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/flights", this::handle);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            SplittableRandom random = new SplittableRandom(seed ^ request.toString().hashCode());
+            long delayMillis = latency.toMillis() + (jitter.isZero() ? 0 : random.nextLong(jitter.toMillis() + 1));
+            sleep(delayMillis);
+
+            if (random.nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            byte[] payload = objectMapper.writeValueAsBytes(results(request, random));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        }
+    }
+
+    private ArrayNode results(JsonNode request, SplittableRandom random) {
+        String outbound = request.path("outboundDate").asText(null);
+        LocalDate date = outbound == null ? LocalDate.of(2025, 6, 1) : LocalDate.parse(outbound);
+        ArrayNode array = objectMapper.createArrayNode();
+        for (int i = 0; i < results; i++) {
+            array.addObject()
+                    .put("carrier", CARRIERS[random.nextInt(CARRIERS.length)])
+                    .put("basePrice", 50 + random.nextInt(900))
+                    .put("tax", random.nextInt(100))
+                    .put("departureAirportName", request.path("from").asText())
+                    .put("arrivalAirportName", request.path("to").asText())
+                    .put("outboundDateTime", date.toString())
+                    .put("inboundDateTime", date.plusDays(random.nextInt(2)).toString());
+        }
+        return array;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
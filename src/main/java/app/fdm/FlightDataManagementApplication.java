@@ -1,13 +1,18 @@
 package app.fdm;
 
+import app.fdm.cli.FlightImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class FlightDataManagementApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(FlightDataManagementApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(FlightDataManagementApplication.class, args);
+        if (context.getBean(FlightImportRunner.class).isExitRequested()) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
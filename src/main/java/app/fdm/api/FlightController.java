@@ -1,18 +1,31 @@
 package app.fdm.api;
 
+import app.fdm.dto.BulkFlightResponse;
 import app.fdm.dto.Flight;
+import app.fdm.service.FlightImportService;
 import app.fdm.service.FlightService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/flights")
 public class FlightController {
 
     private final FlightService flightService;
+    private final FlightImportService flightImportService;
+    private final ObjectMapper objectMapper;
 
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService, FlightImportService flightImportService, ObjectMapper objectMapper) {
         this.flightService = flightService;
+        this.flightImportService = flightImportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -21,6 +34,22 @@ public class FlightController {
         return ResponseEntity.ok(flightService.saveFlight(flight));
     }
 
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkFlightResponse> createFlights(InputStream body) throws IOException {
+        try (MappingIterator<Flight> flights = objectMapper.readerFor(Flight.class).readValues(body)) {
+            return ResponseEntity.ok(flightService.saveFlights(flights, Validations::validateFlight));
+        }
+    }
+
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkFlightResponse> importFlights(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                            InputStream body) throws IOException {
+        FlightImportService.Format format = contentType.startsWith("text/csv")
+                ? FlightImportService.Format.CSV
+                : FlightImportService.Format.NDJSON;
+        return ResponseEntity.ok(flightImportService.importFlights(body, format, Validations::validateFlight));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Flight> updateFlight(@PathVariable Long id, @RequestBody Flight flight) {
         Validations.validateFlight(flight);
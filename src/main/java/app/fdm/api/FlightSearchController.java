@@ -1,34 +1,170 @@
 package app.fdm.api;
 
+import app.fdm.dto.BatchFlightSearchRequest;
+import app.fdm.dto.BatchFlightSearchResponse;
+import app.fdm.dto.BatchFlightSearchResult;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
 import app.fdm.service.CombinedFlightSearchService;
+import app.fdm.service.SearchCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/flights/search")
 public class FlightSearchController {
 
     private final CombinedFlightSearchService combinedFlightSearchService;
+    private final int maxBatchSearches;
+    private final int maxCalendarDays;
+    private final int maxLimit;
 
-    public FlightSearchController(CombinedFlightSearchService combinedFlightSearchService) {
+    public FlightSearchController(CombinedFlightSearchService combinedFlightSearchService,
+                                  @Value("${flight-search.batch.max-searches:100}") int maxBatchSearches,
+                                  @Value("${flight-search.calendar.max-days:62}") int maxCalendarDays,
+                                  @Value("${flight-search.page.max-limit:500}") int maxLimit) {
         this.combinedFlightSearchService = combinedFlightSearchService;
+        this.maxBatchSearches = maxBatchSearches;
+        this.maxCalendarDays = maxCalendarDays;
+        this.maxLimit = maxLimit;
     }
 
     @GetMapping
-    public ResponseEntity<FlightSearchResponse> searchFlights(
+    public Mono<ResponseEntity<FlightSearchResponse>> searchFlights(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String airline,
+            @RequestParam(required = false) String departureTime,
+            @RequestParam(required = false) String arrivalTime,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean alternatives
+    ) {
+        FlightSearchRequest req;
+        try {
+            req = toSearchRequest(from, to, airline, departureTime, arrivalTime);
+            req.setSort(sort == null ? null : FlightSearchSort.fromKey(sort));
+            req.setLimit(limit);
+            req.setCursor(cursor);
+            req.setAlternatives(alternatives);
+            validatePaging(req);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return combinedFlightSearchService.findFlightsAsync(req).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<Flux<FlightSearchResult>> streamFlights(
             @RequestParam String from,
             @RequestParam String to,
             @RequestParam(required = false) String airline,
             @RequestParam(required = false) String departureTime,
             @RequestParam(required = false) String arrivalTime
     ) {
-        Validations.validateAirportCode(from, "from");
-        Validations.validateAirportCode(to, "to");
+        FlightSearchRequest req;
+        try {
+            req = toSearchRequest(from, to, airline, departureTime, arrivalTime);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(combinedFlightSearchService.streamFlights(req));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchFlightSearchResponse>> searchFlightsBatch(@RequestBody BatchFlightSearchRequest batch) {
+        List<FlightSearchRequest> searches = batch.getSearches();
+        if (searches == null || searches.isEmpty() || searches.size() > maxBatchSearches) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        try {
+            for (FlightSearchRequest search : searches) {
+                if (search == null) {
+                    return Mono.just(ResponseEntity.badRequest().build());
+                }
+                Validations.validateSearchAirportCode(search.getFrom(), "from");
+                Validations.validateSearchAirportCode(search.getTo(), "to");
+                validatePaging(search);
+            }
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return combinedFlightSearchService.findFlightsBatchAsync(searches)
+                .map(responses -> {
+                    List<BatchFlightSearchResult> results = new ArrayList<>(searches.size());
+                    for (int i = 0; i < searches.size(); i++) {
+                        results.add(new BatchFlightSearchResult(searches.get(i), responses.get(i)));
+                    }
+                    return ResponseEntity.ok(new BatchFlightSearchResponse(results));
+                });
+    }
+
+    @GetMapping("/calendar")
+    public Mono<ResponseEntity<FareCalendarResponse>> searchFareCalendar(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(required = false) String airline
+    ) {
+        Validations.validateSearchAirportCode(from, "from");
+        Validations.validateSearchAirportCode(to, "to");
+        FareCalendarRequest calendar = new FareCalendarRequest();
+        calendar.setFrom(from);
+        calendar.setTo(to);
+        calendar.setAirline(airline);
+        try {
+            calendar.setStartDate(LocalDate.parse(startDate));
+            calendar.setEndDate(LocalDate.parse(endDate));
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        long days = ChronoUnit.DAYS.between(calendar.getStartDate(), calendar.getEndDate()) + 1;
+        if (days < 1 || days > maxCalendarDays) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return combinedFlightSearchService.findLowestFaresAsync(calendar).map(ResponseEntity::ok);
+    }
+
+    private void validatePaging(FlightSearchRequest req) {
+        if (req.getLimit() != null && (req.getLimit() < 1 || req.getLimit() > maxLimit)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        if (req.getCursor() != null) {
+            SearchCursor cursor = SearchCursor.decode(req.getCursor());
+            if (req.getSort() != null && req.getSort() != cursor.sort()) {
+                throw new IllegalArgumentException("cursor was issued for sort " + cursor.sort().getKey());
+            }
+        }
+    }
+
+    private static FlightSearchRequest toSearchRequest(String from, String to, String airline, String departureTime, String arrivalTime) {
+        Validations.validateSearchAirportCode(from, "from");
+        Validations.validateSearchAirportCode(to, "to");
         FlightSearchRequest req = new FlightSearchRequest();
         req.setAirline(airline);
         req.setFrom(from);
@@ -44,9 +180,8 @@ public class FlightSearchController {
                 req.setArrivalTime(java.time.ZonedDateTime.parse(arrivalTime));
             }
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            throw new IllegalArgumentException(e);
         }
-
-        return ResponseEntity.ok(combinedFlightSearchService.findFlights(req));
+        return req;
     }
 }
@@ -0,0 +1,59 @@
+package app.fdm.api;
+
+import app.fdm.dto.ItinerarySearchRequest;
+import app.fdm.dto.ItinerarySearchResponse;
+import app.fdm.service.ItinerarySearchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZonedDateTime;
+
+@RestController
+@RequestMapping("/flights/search/itineraries")
+public class ItinerarySearchController {
+
+    private final ItinerarySearchService itinerarySearchService;
+    private final int maxResults;
+
+    public ItinerarySearchController(ItinerarySearchService itinerarySearchService,
+                                     @Value("${flight-search.itinerary.max-results:50}") int maxResults) {
+        this.itinerarySearchService = itinerarySearchService;
+        this.maxResults = maxResults;
+    }
+
+    @GetMapping
+    public ResponseEntity<ItinerarySearchResponse> searchItineraries(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam String departureTime,
+            @RequestParam(required = false) String arrivalTime,
+            @RequestParam(defaultValue = "1") int maxStops,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        Validations.validateSearchAirportCode(from, "from");
+        Validations.validateSearchAirportCode(to, "to");
+        Validations.validateDateTime(departureTime, "departureTime");
+        if (arrivalTime != null) {
+            Validations.validateDateTime(arrivalTime, "arrivalTime");
+        }
+        if (from.equalsIgnoreCase(to) || maxStops < 0 || maxStops > ItinerarySearchService.MAX_STOPS || limit < 1 || limit > maxResults) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!itinerarySearchService.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        ItinerarySearchRequest request = new ItinerarySearchRequest();
+        request.setFrom(from);
+        request.setTo(to);
+        request.setDepartureTime(ZonedDateTime.parse(departureTime));
+        request.setArrivalTime(arrivalTime == null ? null : ZonedDateTime.parse(arrivalTime));
+        request.setMaxStops(maxStops);
+        request.setLimit(limit);
+        return ResponseEntity.ok(itinerarySearchService.findItineraries(request));
+    }
+}
@@ -1,6 +1,7 @@
 package app.fdm.api;
 
 import app.fdm.dto.Flight;
+import app.fdm.service.Airports;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -15,6 +16,13 @@ public class Validations {
         }
     }
 
+    public static void validateSearchAirportCode(String airportCode, String fieldName) {
+        validateAirportCode(airportCode, fieldName);
+        if (!Airports.isKnown(airportCode)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, fieldName + " is not a known airport code");
+        }
+    }
+
     public static void validateFlight(Flight flight) {
         if (flight.getAirline() == null || flight.getAirline().isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Airline cannot be null or blank");
@@ -0,0 +1,57 @@
+package app.fdm.cli;
+
+import app.fdm.api.Validations;
+import app.fdm.dto.BulkFlightResponse;
+import app.fdm.service.FlightImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// java -jar fdm.jar --import=schedule.ndjson --import=extra.csv [--import-exit]
+@Component
+public class FlightImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightImportRunner.class);
+
+    private final FlightImportService flightImportService;
+    private volatile boolean exitRequested;
+
+    public FlightImportRunner(FlightImportService flightImportService) {
+        this.flightImportService = flightImportService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> files = args.getOptionValues("import");
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        for (String file : files) {
+            Path path = Path.of(file);
+            logger.info("Importing flights from {}", path);
+            try (InputStream in = Files.newInputStream(path)) {
+                BulkFlightResponse report = flightImportService.importFlights(in, FlightImportService.Format.fromFileName(file),
+                        Validations::validateFlight);
+                report.getErrors().stream().limit(20).forEach(e -> logger.warn("Row {} rejected: {}", e.getIndex(), e.getMessage()));
+            }
+        }
+        exitRequested = args.containsOption("import-exit");
+    }
+
+    public boolean isExitRequested() {
+        return exitRequested;
+    }
+
+    @Override
+    public int getExitCode() {
+        return 0;
+    }
+}
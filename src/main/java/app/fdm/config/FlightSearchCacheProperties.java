@@ -0,0 +1,32 @@
+package app.fdm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "flight-search.cache")
+public record FlightSearchCacheProperties(
+        @DefaultValue("60s") Duration defaultTtl,
+        @DefaultValue("10000") long defaultMaximumSize,
+        Map<String, Source> sources
+) {
+
+    public record Source(Duration ttl, Long maximumSize) {
+    }
+
+    public Duration ttl(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.ttl() != null ? source.ttl() : defaultTtl;
+    }
+
+    public long maximumSize(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.maximumSize() != null ? source.maximumSize() : defaultMaximumSize;
+    }
+
+    private Source source(String sourceName) {
+        return sources == null || sourceName == null ? null : sources.get(sourceName);
+    }
+}
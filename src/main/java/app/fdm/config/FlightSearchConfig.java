@@ -0,0 +1,26 @@
+package app.fdm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties({FlightSearchCacheProperties.class, FlightSearchResilienceProperties.class,
+        FlightSearchRegistryProperties.class})
+public class FlightSearchConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor flightSearchExecutor(
+            @Value("${flight-search.executor.pool-size:32}") int poolSize,
+            @Value("${flight-search.executor.queue-capacity:256}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("flight-search-");
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package app.fdm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "flight-search.registry")
+public record FlightSearchRegistryProperties(Map<String, Source> sources) {
+
+    public record Source(Boolean enabled, Integer priority, Duration timeout, List<String> routes, List<String> excludedRoutes) {
+    }
+
+    public boolean enabled(String sourceName) {
+        Source source = source(sourceName);
+        return source == null || source.enabled() == null || source.enabled();
+    }
+
+    public int priority(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.priority() != null ? source.priority() : 0;
+    }
+
+    public Duration timeout(String sourceName, Duration defaultTimeout) {
+        Source source = source(sourceName);
+        return source != null && source.timeout() != null ? source.timeout() : defaultTimeout;
+    }
+
+    public List<String> routes(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.routes() != null ? source.routes() : List.of();
+    }
+
+    public List<String> excludedRoutes(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.excludedRoutes() != null ? source.excludedRoutes() : List.of();
+    }
+
+    private Source source(String sourceName) {
+        return sources == null || sourceName == null ? null : sources.get(sourceName);
+    }
+}
@@ -0,0 +1,45 @@
+package app.fdm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "flight-search.resilience")
+public record FlightSearchResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.5") double failureRateThreshold,
+        @DefaultValue("20") int slidingWindowSize,
+        @DefaultValue("10") int minimumCalls,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("3") int halfOpenCalls,
+        @DefaultValue("64") int maxConcurrentCalls,
+        @DefaultValue("0.99") double timeoutPercentile,
+        @DefaultValue("2.0") double timeoutMultiplier,
+        @DefaultValue("200ms") Duration minTimeout,
+        Map<String, Source> sources
+) {
+
+    public record Source(Boolean enabled, Duration minTimeout, Integer maxConcurrentCalls) {
+    }
+
+    public boolean enabled(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.enabled() != null ? source.enabled() : enabled;
+    }
+
+    public Duration minTimeout(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.minTimeout() != null ? source.minTimeout() : minTimeout;
+    }
+
+    public int maxConcurrentCalls(String sourceName) {
+        Source source = source(sourceName);
+        return source != null && source.maxConcurrentCalls() != null ? source.maxConcurrentCalls() : maxConcurrentCalls;
+    }
+
+    private Source source(String sourceName) {
+        return sources == null || sourceName == null ? null : sources.get(sourceName);
+    }
+}
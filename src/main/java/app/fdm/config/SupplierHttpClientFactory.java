@@ -0,0 +1,70 @@
+package app.fdm.config;
+
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+public class SupplierHttpClientFactory implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupplierHttpClientFactory.class);
+
+    private final WebClient.Builder webClientBuilder;
+    private final SupplierHttpClientProperties properties;
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
+
+    public SupplierHttpClientFactory(WebClient.Builder webClientBuilder, SupplierHttpClientProperties properties) {
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+    }
+
+    public WebClient create(String supplierName, String baseUrl) {
+        SupplierHttpClientProperties.Client client = properties.client(supplierName);
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("supplier-" + supplierName)
+                .maxConnections(client.maxConnections())
+                .pendingAcquireMaxCount(client.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.pendingAcquireTimeout())
+                .maxIdleTime(client.maxIdleTime())
+                .maxLifeTime(client.maxLifeTime())
+                .evictInBackground(client.evictionInterval())
+                .lifo()
+                .metrics(client.metrics())
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        boolean secure = "https".equalsIgnoreCase(URI.create(baseUrl).getScheme());
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.connectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, client.tcpKeepAlive())
+                .responseTimeout(client.responseTimeout())
+                .compress(client.compression())
+                .metrics(client.metrics(), Function.identity());
+        if (secure && client.http2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
+        logger.info("HTTP client for {} at {}: {} connections, response timeout {}, http2 {}", supplierName, baseUrl,
+                client.maxConnections(), client.responseTimeout(), secure && client.http2());
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) client.maxInMemorySize().toBytes()))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+}
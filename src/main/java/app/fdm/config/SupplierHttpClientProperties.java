@@ -0,0 +1,37 @@
+package app.fdm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "flight-search.http-client")
+public record SupplierHttpClientProperties(
+        @DefaultValue Client defaults,
+        Map<String, Client> suppliers
+) {
+
+    public record Client(
+            @DefaultValue("100") int maxConnections,
+            @DefaultValue("1000") int pendingAcquireMaxCount,
+            @DefaultValue("1s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("5m") Duration maxLifeTime,
+            @DefaultValue("15s") Duration evictionInterval,
+            @DefaultValue("1s") Duration connectTimeout,
+            @DefaultValue("3s") Duration responseTimeout,
+            @DefaultValue("true") boolean tcpKeepAlive,
+            @DefaultValue("true") boolean compression,
+            @DefaultValue("true") boolean http2,
+            @DefaultValue("2MB") DataSize maxInMemorySize,
+            @DefaultValue("true") boolean metrics
+    ) {
+    }
+
+    public Client client(String supplierName) {
+        Client client = suppliers == null || supplierName == null ? null : suppliers.get(supplierName);
+        return client != null ? client : defaults;
+    }
+}
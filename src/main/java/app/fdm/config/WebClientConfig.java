@@ -1,14 +1,17 @@
 package app.fdm.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
+@EnableConfigurationProperties(SupplierHttpClientProperties.class)
 public class WebClientConfig {
 
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public SupplierHttpClientFactory supplierHttpClientFactory(WebClient.Builder webClientBuilder,
+                                                               SupplierHttpClientProperties properties) {
+        return new SupplierHttpClientFactory(webClientBuilder, properties);
     }
 }
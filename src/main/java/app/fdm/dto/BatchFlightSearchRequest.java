@@ -0,0 +1,17 @@
+package app.fdm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchFlightSearchRequest {
+
+    private List<FlightSearchRequest> searches = new ArrayList<>();
+
+    public List<FlightSearchRequest> getSearches() {
+        return searches;
+    }
+
+    public void setSearches(List<FlightSearchRequest> searches) {
+        this.searches = searches;
+    }
+}
@@ -0,0 +1,25 @@
+package app.fdm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchFlightSearchResponse {
+
+    private List<BatchFlightSearchResult> results = new ArrayList<>();
+
+    public BatchFlightSearchResponse() {
+        // empty
+    }
+
+    public BatchFlightSearchResponse(List<BatchFlightSearchResult> results) {
+        this.results = results;
+    }
+
+    public List<BatchFlightSearchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchFlightSearchResult> results) {
+        this.results = results;
+    }
+}
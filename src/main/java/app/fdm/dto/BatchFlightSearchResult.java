@@ -0,0 +1,44 @@
+package app.fdm.dto;
+
+import java.util.List;
+
+public class BatchFlightSearchResult {
+
+    private FlightSearchRequest search;
+    private List<FlightSearchResult> results;
+    private String nextCursor;
+
+    public BatchFlightSearchResult() {
+        // empty
+    }
+
+    public BatchFlightSearchResult(FlightSearchRequest search, FlightSearchResponse response) {
+        this.search = search;
+        this.results = response.getResults();
+        this.nextCursor = response.getNextCursor();
+    }
+
+    public FlightSearchRequest getSearch() {
+        return search;
+    }
+
+    public void setSearch(FlightSearchRequest search) {
+        this.search = search;
+    }
+
+    public List<FlightSearchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FlightSearchResult> results) {
+        this.results = results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
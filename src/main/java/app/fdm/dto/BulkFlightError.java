@@ -0,0 +1,32 @@
+package app.fdm.dto;
+
+public class BulkFlightError {
+
+    private int index;
+    private String message;
+
+    public BulkFlightError() {
+        // empty
+    }
+
+    public BulkFlightError(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,62 @@
+package app.fdm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkFlightResponse {
+
+    private int received;
+    private int saved;
+    private int failed;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<BulkFlightError> errors = new ArrayList<>();
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getSaved() {
+        return saved;
+    }
+
+    public void setSaved(int saved) {
+        this.saved = saved;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<BulkFlightError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkFlightError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,35 @@
+package app.fdm.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class FareCalendarDay {
+
+    private LocalDate date;
+    private BigDecimal lowestFare;
+
+    public FareCalendarDay() {
+        // empty
+    }
+
+    public FareCalendarDay(LocalDate date, BigDecimal lowestFare) {
+        this.date = date;
+        this.lowestFare = lowestFare;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getLowestFare() {
+        return lowestFare;
+    }
+
+    public void setLowestFare(BigDecimal lowestFare) {
+        this.lowestFare = lowestFare;
+    }
+}
@@ -0,0 +1,45 @@
+package app.fdm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FareCalendarResponse {
+
+    private String from;
+    private String to;
+    private List<FareCalendarDay> days = new ArrayList<>();
+
+    public FareCalendarResponse() {
+        // empty
+    }
+
+    public FareCalendarResponse(String from, String to, List<FareCalendarDay> days) {
+        this.from = from;
+        this.to = to;
+        this.days = days;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public List<FareCalendarDay> getDays() {
+        return days;
+    }
+
+    public void setDays(List<FareCalendarDay> days) {
+        this.days = days;
+    }
+}
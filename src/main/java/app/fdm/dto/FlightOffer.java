@@ -0,0 +1,34 @@
+package app.fdm.dto;
+
+import java.math.BigDecimal;
+
+public class FlightOffer {
+
+    private String supplier;
+    private BigDecimal fare;
+
+    public FlightOffer() {
+        // empty
+    }
+
+    public FlightOffer(String supplier, BigDecimal fare) {
+        this.supplier = supplier;
+        this.fare = fare;
+    }
+
+    public String getSupplier() {
+        return supplier;
+    }
+
+    public void setSupplier(String supplier) {
+        this.supplier = supplier;
+    }
+
+    public BigDecimal getFare() {
+        return fare;
+    }
+
+    public void setFare(BigDecimal fare) {
+        this.fare = fare;
+    }
+}
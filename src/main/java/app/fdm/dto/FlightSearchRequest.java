@@ -9,6 +9,10 @@ public class FlightSearchRequest {
     private String to;
     private ZonedDateTime departureTime;
     private ZonedDateTime arrivalTime;
+    private FlightSearchSort sort;
+    private Integer limit;
+    private String cursor;
+    private boolean alternatives;
 
     public String getAirline() {
         return airline;
@@ -49,4 +53,36 @@ public class FlightSearchRequest {
     public void setArrivalTime(ZonedDateTime arrivalTime) {
         this.arrivalTime = arrivalTime;
     }
+
+    public FlightSearchSort getSort() {
+        return sort;
+    }
+
+    public void setSort(FlightSearchSort sort) {
+        this.sort = sort;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isAlternatives() {
+        return alternatives;
+    }
+
+    public void setAlternatives(boolean alternatives) {
+        this.alternatives = alternatives;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.List;
 public class FlightSearchResponse {
 
     private List<FlightSearchResult> results;
+    private String nextCursor;
 
     public FlightSearchResponse() {
         // empty
@@ -23,6 +24,14 @@ public class FlightSearchResponse {
         this.results = results;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     public static FlightSearchResponse combine(List<FlightSearchResponse> responses) {
         List<FlightSearchResult> combinedResults = new ArrayList<>();
         for (FlightSearchResponse response : responses) {
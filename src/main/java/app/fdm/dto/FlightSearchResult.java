@@ -1,7 +1,10 @@
 package app.fdm.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 public class FlightSearchResult {
 
@@ -12,6 +15,8 @@ public class FlightSearchResult {
     private String destinationAirport;
     private ZonedDateTime departureTime;
     private ZonedDateTime arrivalTime;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<FlightOffer> alternatives;
 
     public String getAirline() {
         return airline;
@@ -68,4 +73,25 @@ public class FlightSearchResult {
     public void setArrivalTime(ZonedDateTime arrivalTime) {
         this.arrivalTime = arrivalTime;
     }
+
+    public List<FlightOffer> getAlternatives() {
+        return alternatives;
+    }
+
+    public void setAlternatives(List<FlightOffer> alternatives) {
+        this.alternatives = alternatives;
+    }
+
+    public FlightSearchResult copy() {
+        FlightSearchResult copy = new FlightSearchResult();
+        copy.setAirline(airline);
+        copy.setSupplier(supplier);
+        copy.setFare(fare);
+        copy.setDepartureAirport(departureAirport);
+        copy.setDestinationAirport(destinationAirport);
+        copy.setDepartureTime(departureTime);
+        copy.setArrivalTime(arrivalTime);
+        copy.setAlternatives(alternatives);
+        return copy;
+    }
 }
@@ -0,0 +1,32 @@
+package app.fdm.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum FlightSearchSort {
+
+    FARE("fare"),
+    DEPARTURE_TIME("departureTime"),
+    DURATION("duration");
+
+    private final String key;
+
+    FlightSearchSort(String key) {
+        this.key = key;
+    }
+
+    @JsonValue
+    public String getKey() {
+        return key;
+    }
+
+    @JsonCreator
+    public static FlightSearchSort fromKey(String key) {
+        for (FlightSearchSort sort : values()) {
+            if (sort.key.equalsIgnoreCase(key)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort " + key + ", expected fare, departureTime or duration");
+    }
+}
@@ -0,0 +1,67 @@
+package app.fdm.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Itinerary {
+
+    private List<FlightSearchResult> legs = new ArrayList<>();
+    private int stops;
+    private BigDecimal totalFare;
+    private ZonedDateTime departureTime;
+    private ZonedDateTime arrivalTime;
+
+    public Itinerary() {
+        // empty
+    }
+
+    public Itinerary(List<FlightSearchResult> legs) {
+        this.legs = legs;
+        this.stops = legs.size() - 1;
+        this.totalFare = legs.stream().map(FlightSearchResult::getFare).reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.departureTime = legs.get(0).getDepartureTime();
+        this.arrivalTime = legs.get(legs.size() - 1).getArrivalTime();
+    }
+
+    public List<FlightSearchResult> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<FlightSearchResult> legs) {
+        this.legs = legs;
+    }
+
+    public int getStops() {
+        return stops;
+    }
+
+    public void setStops(int stops) {
+        this.stops = stops;
+    }
+
+    public BigDecimal getTotalFare() {
+        return totalFare;
+    }
+
+    public void setTotalFare(BigDecimal totalFare) {
+        this.totalFare = totalFare;
+    }
+
+    public ZonedDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(ZonedDateTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public ZonedDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(ZonedDateTime arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+}
@@ -0,0 +1,61 @@
+package app.fdm.dto;
+
+import java.time.ZonedDateTime;
+
+public class ItinerarySearchRequest {
+
+    private String from;
+    private String to;
+    private ZonedDateTime departureTime;
+    private ZonedDateTime arrivalTime;
+    private int maxStops;
+    private int limit;
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public ZonedDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(ZonedDateTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public ZonedDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(ZonedDateTime arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public int getMaxStops() {
+        return maxStops;
+    }
+
+    public void setMaxStops(int maxStops) {
+        this.maxStops = maxStops;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
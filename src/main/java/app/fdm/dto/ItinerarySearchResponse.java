@@ -0,0 +1,45 @@
+package app.fdm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItinerarySearchResponse {
+
+    private String from;
+    private String to;
+    private List<Itinerary> itineraries = new ArrayList<>();
+
+    public ItinerarySearchResponse() {
+        // empty
+    }
+
+    public ItinerarySearchResponse(String from, String to, List<Itinerary> itineraries) {
+        this.from = from;
+        this.to = to;
+        this.itineraries = itineraries;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public List<Itinerary> getItineraries() {
+        return itineraries;
+    }
+
+    public void setItineraries(List<Itinerary> itineraries) {
+        this.itineraries = itineraries;
+    }
+}
@@ -0,0 +1,15 @@
+package app.fdm.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyLowestFare {
+
+    long getEpochDay();
+
+    BigDecimal getLowestFare();
+
+    default LocalDate getDay() {
+        return LocalDate.ofEpochDay(getEpochDay());
+    }
+}
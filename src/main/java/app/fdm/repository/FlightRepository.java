@@ -1,13 +1,30 @@
 package app.fdm.repository;
 
 import app.fdm.repository.model.FlightEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 public interface FlightRepository extends JpaRepository<FlightEntity, Long>, JpaSpecificationExecutor<FlightEntity> {
 
-    // composite index (departureAirport, destinationAirport) improves the search speed
-    List<FlightEntity> findByDepartureAirportAndDestinationAirport(String departureAirport, String destinationAirport);
+    List<FlightEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("""
+            select floor(extract(epoch from f.departureTime) / 86400) as epochDay, min(f.fare) as lowestFare
+            from FlightEntity f
+            where upper(f.departureAirport) = :from and upper(f.destinationAirport) = :to
+              and f.departureTime >= :departureFrom and f.departureTime < :departureTo
+              and (:airline is null or upper(f.airline) = :airline)
+            group by floor(extract(epoch from f.departureTime) / 86400)
+            order by 1""")
+    List<DailyLowestFare> findLowestFarePerDay(@Param("from") String from,
+                                               @Param("to") String to,
+                                               @Param("departureFrom") ZonedDateTime departureFrom,
+                                               @Param("departureTo") ZonedDateTime departureTo,
+                                               @Param("airline") String airline);
 }
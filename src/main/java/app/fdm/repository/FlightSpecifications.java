@@ -0,0 +1,68 @@
+package app.fdm.repository;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.repository.model.FlightEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+public class FlightSpecifications {
+
+    private FlightSpecifications() {
+    }
+
+    public static Specification<FlightEntity> matching(FlightSearchRequest search) {
+        return Specification.allOf(
+                onRoute(search.getFrom(), search.getTo()),
+                departingAtOrAfter(search.getDepartureTime()),
+                departingAtOrBefore(search.getArrivalTime()),
+                arrivingAtOrBefore(search.getArrivalTime()),
+                operatedBy(search.getAirline()));
+    }
+
+    public static Specification<FlightEntity> matchingAny(Collection<FlightSearchRequest> searches) {
+        return Specification.anyOf(searches.stream().map(FlightSpecifications::matching).toList());
+    }
+
+    // codes are stored as submitted
+    public static Specification<FlightEntity> onRoute(String from, String to) {
+        String departure = airportCode(from);
+        String destination = airportCode(to);
+        return (root, query, cb) -> {
+            if (departure == null && destination == null) {
+                return null;
+            }
+            if (destination == null) {
+                return cb.equal(cb.upper(root.get("departureAirport")), departure);
+            }
+            if (departure == null) {
+                return cb.equal(cb.upper(root.get("destinationAirport")), destination);
+            }
+            return cb.and(cb.equal(cb.upper(root.get("departureAirport")), departure),
+                    cb.equal(cb.upper(root.get("destinationAirport")), destination));
+        };
+    }
+
+    public static Specification<FlightEntity> departingAtOrAfter(ZonedDateTime time) {
+        return (root, query, cb) -> time == null ? null : cb.greaterThanOrEqualTo(root.get("departureTime"), time);
+    }
+
+    public static Specification<FlightEntity> departingAtOrBefore(ZonedDateTime time) {
+        return (root, query, cb) -> time == null ? null : cb.lessThanOrEqualTo(root.get("departureTime"), time);
+    }
+
+    public static Specification<FlightEntity> arrivingAtOrBefore(ZonedDateTime time) {
+        return (root, query, cb) -> time == null ? null : cb.lessThanOrEqualTo(root.get("arrivalTime"), time);
+    }
+
+    public static Specification<FlightEntity> operatedBy(String airline) {
+        return (root, query, cb) -> airline == null ? null
+                : cb.equal(cb.upper(root.get("airline")), airline.toUpperCase(Locale.ROOT));
+    }
+
+    public static String airportCode(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+}
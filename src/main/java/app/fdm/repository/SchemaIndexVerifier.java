@@ -0,0 +1,93 @@
+package app.fdm.repository;
+
+import app.fdm.repository.model.FlightEntity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Component
+public class SchemaIndexVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    static final String TABLE_NAME = "flight_entity";
+
+    private final DataSource dataSource;
+    private final boolean failOnMissing;
+
+    public SchemaIndexVerifier(DataSource dataSource, @Value("${flight-search.schema.fail-on-missing-index:false}") boolean failOnMissing) {
+        this.dataSource = dataSource;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            logger.info("All expected indexes present on {}", TABLE_NAME);
+            return;
+        }
+        logger.warn("Missing indexes on {}: {}, searches on this table will scan", TABLE_NAME, missing);
+        if (failOnMissing) {
+            throw new IllegalStateException("Missing indexes on " + TABLE_NAME + ": " + missing);
+        }
+    }
+
+    public List<String> findMissingIndexes() {
+        Set<String> existing = existingIndexes();
+        List<String> missing = new ArrayList<>();
+        for (String expected : expectedIndexes()) {
+            if (!existing.contains(expected.toLowerCase(Locale.ROOT))) {
+                missing.add(expected);
+            }
+        }
+        return missing;
+    }
+
+    static List<String> expectedIndexes() {
+        Table table = FlightEntity.class.getAnnotation(Table.class);
+        List<String> names = new ArrayList<>();
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                names.add(index.name());
+            }
+        }
+        return names;
+    }
+
+    private Set<String> existingIndexes() {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : List.of(TABLE_NAME.toUpperCase(Locale.ROOT), TABLE_NAME)) {
+                try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)) {
+                    while (rs.next()) {
+                        String name = rs.getString("INDEX_NAME");
+                        if (name != null) {
+                            names.add(name.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read index metadata of {}", TABLE_NAME, e);
+        }
+        return names;
+    }
+}
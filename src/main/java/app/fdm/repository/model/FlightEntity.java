@@ -4,15 +4,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_flight_route_search", columnList = "departureAirport, destinationAirport, departureTime, arrivalTime, airline, fare, supplier")
+})
 public class FlightEntity {
 
+    // pooled so Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_seq")
+    @SequenceGenerator(name = "flight_seq", sequenceName = "flight_seq", allocationSize = 50)
     private Long id;
 
     private String airline;
@@ -0,0 +1,47 @@
+package app.fdm.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public class AdaptiveTimeout {
+
+    static final int WINDOW = 256;
+    static final int RECALCULATE_EVERY = 16;
+
+    private final double percentile;
+    private final double multiplier;
+    private final long minNanos;
+    private final long maxNanos;
+
+    private final long[] samples = new long[WINDOW];
+    private int count;
+    private int next;
+    private int sinceRecalculation;
+    private volatile Duration current;
+
+    public AdaptiveTimeout(double percentile, double multiplier, Duration min, Duration max) {
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.maxNanos = max.toNanos();
+        this.minNanos = Math.min(min.toNanos(), maxNanos);
+        this.current = max;
+    }
+
+    public Duration current() {
+        return current;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+        if (++sinceRecalculation >= RECALCULATE_EVERY) {
+            sinceRecalculation = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            long observed = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+            long timeout = (long) (observed * multiplier);
+            current = Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, timeout)));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package app.fdm.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Locale;
+
+public final class Airports {
+
+    public record Airport(String code, ZoneId timeZone, double latitude, double longitude) {
+    }
+
+    public static final int NONE = -1;
+
+    static final String RESOURCE = "/airports.csv";
+    private static final int CODES = 26 * 26 * 26;
+    private static final Airport[] BY_CODE = load(RESOURCE);
+
+    private Airports() {
+    }
+
+    public static int pack(String code) {
+        if (code == null || code.length() != 3) {
+            return NONE;
+        }
+        int packed = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = (code.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return NONE;
+            }
+            packed = packed * 26 + letter;
+        }
+        return packed;
+    }
+
+    public static Airport find(String code) {
+        int packed = pack(code);
+        return packed == NONE ? null : BY_CODE[packed];
+    }
+
+    public static boolean isKnown(String code) {
+        return find(code) != null;
+    }
+
+    public static String intern(String code) {
+        Airport airport = find(code);
+        return airport == null ? null : airport.code();
+    }
+
+    public static int count() {
+        int count = 0;
+        for (Airport airport : BY_CODE) {
+            if (airport != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static Airport[] load(String resource) {
+        Airport[] byCode = new Airport[CODES];
+        try (InputStream in = Airports.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Airport reference data " + resource + " not found");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("code,")) {
+                    continue;
+                }
+                Airport airport = parse(line, resource, lineNumber);
+                int packed = pack(airport.code());
+                if (byCode[packed] != null) {
+                    throw new IllegalStateException(resource + ":" + lineNumber + " duplicate airport " + airport.code());
+                }
+                byCode[packed] = airport;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read airport reference data " + resource, e);
+        }
+        return byCode;
+    }
+
+    private static Airport parse(String line, String resource, int lineNumber) {
+        String[] fields = line.split(",");
+        if (fields.length != 4 || pack(fields[0].trim()) == NONE) {
+            throw new IllegalStateException(resource + ":" + lineNumber + " is not code,time_zone,latitude,longitude: " + line);
+        }
+        try {
+            return new Airport(fields[0].trim().toUpperCase(Locale.ROOT), ZoneId.of(fields[1].trim()),
+                    Double.parseDouble(fields[2].trim()), Double.parseDouble(fields[3].trim()));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(resource + ":" + lineNumber + " " + e.getMessage(), e);
+        }
+    }
+}
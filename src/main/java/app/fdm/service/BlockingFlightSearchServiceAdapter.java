@@ -0,0 +1,53 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+public class BlockingFlightSearchServiceAdapter implements ReactiveFlightSearchService {
+
+    private final FlightSearchService delegate;
+    private final Scheduler scheduler;
+
+    public BlockingFlightSearchServiceAdapter(FlightSearchService delegate, Scheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest) {
+        return findFlightsAsync(flightSearchRequest)
+                .flatMapIterable(FlightSearchResponse::getResults);
+    }
+
+    @Override
+    public Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return Mono.fromCallable(() -> delegate.findFlights(flightSearchRequest))
+                .filter(r -> r.getResults() != null)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        return Mono.fromCallable(() -> delegate.findFlightsBatch(flightSearchRequests))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        return Mono.fromCallable(() -> delegate.findLowestFares(calendar))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
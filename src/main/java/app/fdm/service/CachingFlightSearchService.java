@@ -0,0 +1,97 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CachingFlightSearchService implements ReactiveFlightSearchService {
+
+    private final ReactiveFlightSearchService delegate;
+    private final FlightSearchCache cache;
+
+    public CachingFlightSearchService(ReactiveFlightSearchService delegate, FlightSearchCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return Mono.defer(() -> {
+            SearchKey key = SearchKey.of(flightSearchRequest);
+            FlightSearchResponse cached = cache.get(getName(), key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = cache.generation(getName(), key);
+            return delegate.findFlightsAsync(flightSearchRequest)
+                    .doOnNext(r -> cache.put(getName(), key, r, generation));
+        });
+    }
+
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest) {
+        return Flux.defer(() -> {
+            SearchKey key = SearchKey.of(flightSearchRequest);
+            FlightSearchResponse cached = cache.get(getName(), key);
+            if (cached != null) {
+                return Flux.fromIterable(cached.getResults());
+            }
+            long generation = cache.generation(getName(), key);
+            List<FlightSearchResult> seen = new ArrayList<>();
+            return delegate.streamFlights(flightSearchRequest)
+                    .doOnNext(seen::add)
+                    .doOnComplete(() -> cache.put(getName(), key, new FlightSearchResponse(List.copyOf(seen)), generation));
+        });
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        return Mono.defer(() -> {
+            FlightSearchResponse[] responses = new FlightSearchResponse[flightSearchRequests.size()];
+            List<Integer> missIndexes = new ArrayList<>();
+            List<SearchKey> missKeys = new ArrayList<>();
+            List<Long> missGenerations = new ArrayList<>();
+            List<FlightSearchRequest> misses = new ArrayList<>();
+            for (int i = 0; i < responses.length; i++) {
+                SearchKey key = SearchKey.of(flightSearchRequests.get(i));
+                responses[i] = cache.get(getName(), key);
+                if (responses[i] == null) {
+                    missIndexes.add(i);
+                    missKeys.add(key);
+                    missGenerations.add(cache.generation(getName(), key));
+                    misses.add(flightSearchRequests.get(i));
+                }
+            }
+            if (misses.isEmpty()) {
+                return Mono.just(Arrays.asList(responses));
+            }
+            return delegate.findFlightsBatchAsync(misses).map(found -> {
+                for (int i = 0; i < found.size(); i++) {
+                    responses[missIndexes.get(i)] = found.get(i);
+                    if (found.get(i) != null) {
+                        cache.put(getName(), missKeys.get(i), found.get(i), missGenerations.get(i));
+                    }
+                }
+                return Arrays.asList(responses);
+            });
+        });
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        return delegate.findLowestFaresAsync(calendar);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
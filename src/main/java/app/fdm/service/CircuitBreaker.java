@@ -0,0 +1,118 @@
+package app.fdm.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] failed;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, double failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.failed = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits + halfOpenSuccesses < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        failures += failure ? 1 : 0;
+        next = (next + 1) % failed.length;
+    }
+
+    private void open() {
+        logger.warn("Circuit for {} opened, calls are rejected for {} ms", name, openNanos / 1_000_000);
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        logger.info("Circuit for {} closed", name);
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
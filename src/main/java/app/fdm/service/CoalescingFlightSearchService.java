@@ -0,0 +1,101 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CoalescingFlightSearchService implements ReactiveFlightSearchService {
+
+    record InFlightKey(SearchKey searchKey, long generation) {
+    }
+
+    private final ReactiveFlightSearchService delegate;
+    private final FlightSearchCache cache;
+    private final FlightSearchMetrics metrics;
+    private final ConcurrentMap<InFlightKey, Mono<FlightSearchResponse>> searches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InFlightKey, Flux<FlightSearchResult>> streams = new ConcurrentHashMap<>();
+
+    public CoalescingFlightSearchService(ReactiveFlightSearchService delegate, FlightSearchCache cache, FlightSearchMetrics metrics) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return Mono.defer(() -> {
+            InFlightKey key = key(flightSearchRequest);
+            AtomicBoolean started = new AtomicBoolean();
+            Mono<FlightSearchResponse> shared = searches.computeIfAbsent(key, k -> {
+                started.set(true);
+                AtomicReference<Mono<FlightSearchResponse>> self = new AtomicReference<>();
+                self.set(delegate.findFlightsAsync(flightSearchRequest)
+                        .doFinally(s -> searches.remove(k, self.get()))
+                        .flux()
+                        .replay(1)
+                        .refCount()
+                        .singleOrEmpty());
+                return self.get();
+            });
+            if (!started.get()) {
+                metrics.recordCoalesced(getName());
+            }
+            return shared;
+        });
+    }
+
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest) {
+        return Flux.defer(() -> {
+            InFlightKey key = key(flightSearchRequest);
+            AtomicBoolean started = new AtomicBoolean();
+            Flux<FlightSearchResult> shared = streams.computeIfAbsent(key, k -> {
+                started.set(true);
+                AtomicReference<Flux<FlightSearchResult>> self = new AtomicReference<>();
+                self.set(delegate.streamFlights(flightSearchRequest)
+                        .doFinally(s -> streams.remove(k, self.get()))
+                        .replay()
+                        .refCount());
+                return self.get();
+            });
+            if (!started.get()) {
+                metrics.recordCoalesced(getName());
+            }
+            return shared;
+        });
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        return delegate.findFlightsBatchAsync(flightSearchRequests);
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        return delegate.findLowestFaresAsync(calendar);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    int inFlight() {
+        return searches.size() + streams.size();
+    }
+
+    private InFlightKey key(FlightSearchRequest flightSearchRequest) {
+        SearchKey searchKey = SearchKey.of(flightSearchRequest);
+        return new InFlightKey(searchKey, cache.generation(getName(), searchKey));
+    }
+}
@@ -1,43 +1,228 @@
 package app.fdm.service;
 
+import app.fdm.config.FlightSearchRegistryProperties;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 
 @Service
-public class CombinedFlightSearchService implements FlightSearchService {
+public class CombinedFlightSearchService implements FlightSearchService, ReactiveFlightSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(CombinedFlightSearchService.class);
 
-    private final LocalFlightSearchService localFlightSearchService;
-    private final CrazySupplierFlightSearchService crazySupplierFlightSearchService;
+    private final FlightSearchSourceRegistry registry;
+    private final FlightSearchMetrics flightSearchMetrics;
+    private final boolean dedupEnabled;
 
-    public CombinedFlightSearchService(LocalFlightSearchService localFlightSearchService, CrazySupplierFlightSearchService crazySupplierFlightSearchService) {
-        this.localFlightSearchService = localFlightSearchService;
-        this.crazySupplierFlightSearchService = crazySupplierFlightSearchService;
+    public CombinedFlightSearchService(List<FlightSearchService> flightSearchServices,
+                                       FlightSearchRegistryProperties registryProperties,
+                                       FlightSearchCache flightSearchCache,
+                                       FlightSearchResilience flightSearchResilience,
+                                       FlightSearchMetrics flightSearchMetrics,
+                                       @Qualifier("flightSearchExecutor") Executor executor,
+                                       @Value("${flight-search.supplier-timeout:3s}") Duration supplierTimeout,
+                                       @Value("${flight-search.coalescing-enabled:true}") boolean coalescingEnabled,
+                                       @Value("${flight-search.dedup-enabled:true}") boolean dedupEnabled) {
+        Scheduler blockingScheduler = Schedulers.fromExecutor(executor);
+        List<FlightSearchSourceRegistry.RegisteredSource> sources = new ArrayList<>();
+        for (FlightSearchService flightSearchService : flightSearchServices) {
+            String name = flightSearchService.getName();
+            if (!registryProperties.enabled(name)) {
+                logger.info("Flight source {} is disabled", name);
+                continue;
+            }
+            Duration timeout = registryProperties.timeout(name, supplierTimeout);
+            ReactiveFlightSearchService reactive = flightSearchService instanceof ReactiveFlightSearchService r
+                    ? r
+                    : new BlockingFlightSearchServiceAdapter(flightSearchService, blockingScheduler);
+            ReactiveFlightSearchService decorated = flightSearchResilience.decorate(flightSearchMetrics.instrument(reactive), timeout);
+            if (coalescingEnabled) {
+                decorated = new CoalescingFlightSearchService(decorated, flightSearchCache, flightSearchMetrics);
+            }
+            decorated = flightSearchCache.decorate(decorated);
+            RouteCoverage coverage = RouteCoverage.of(registryProperties.routes(name), registryProperties.excludedRoutes(name));
+            sources.add(new FlightSearchSourceRegistry.RegisteredSource(name, registryProperties.priority(name), timeout, coverage, decorated));
+        }
+        this.registry = new FlightSearchSourceRegistry(sources);
+        this.flightSearchMetrics = flightSearchMetrics;
+        this.dedupEnabled = dedupEnabled;
+        logger.info("Searching flights in {}", registry.all().stream().map(FlightSearchSourceRegistry.RegisteredSource::name).toList());
     }
 
     @Override
     public FlightSearchResponse findFlights(FlightSearchRequest flightSearchRequest) {
-        List<FlightSearchResponse> results = Stream.of(localFlightSearchService, crazySupplierFlightSearchService)
-                .map(r -> safeSearch(r, flightSearchRequest))
-                .filter(Objects::nonNull)
-                .toList();
-        return FlightSearchResponse.combine(results);
-    }
-
-    static FlightSearchResponse safeSearch(FlightSearchService flightSearchService,  FlightSearchRequest flightSearchRequest) {
-        try {
-            return flightSearchService.findFlights(flightSearchRequest);
-        } catch (Exception e) {
-            logger.warn("Error while trying to search for flights, ignoring", e);
-            return null;
+        return findFlightsAsync(flightSearchRequest).block();
+    }
+
+    @Override
+    public Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return Flux.fromIterable(registry.sourcesFor(flightSearchRequest))
+                .flatMapSequential(s -> safeSearch(s, flightSearchRequest))
+                .collectList()
+                .map(responses -> merge(flightSearchRequest, responses));
+    }
+
+    @Override
+    public List<FlightSearchResponse> findFlightsBatch(List<FlightSearchRequest> flightSearchRequests) {
+        return findFlightsBatchAsync(flightSearchRequests).block();
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        List<FlightSearchSourceRegistry.RegisteredSource> sources = registry.all();
+        return Flux.fromIterable(sources)
+                .flatMapSequential(s -> safeSearchBatch(s, flightSearchRequests))
+                .collectList()
+                .map(perSource -> {
+                    List<FlightSearchResponse> combined = new ArrayList<>(flightSearchRequests.size());
+                    for (int i = 0; i < flightSearchRequests.size(); i++) {
+                        List<FlightSearchResponse> responses = new ArrayList<>(perSource.size());
+                        for (List<FlightSearchResponse> sourceResponses : perSource) {
+                            responses.add(sourceResponses.get(i));
+                        }
+                        combined.add(merge(flightSearchRequests.get(i), responses));
+                    }
+                    return combined;
+                });
+    }
+
+    @Override
+    public FareCalendarResponse findLowestFares(FareCalendarRequest calendar) {
+        return findLowestFaresAsync(calendar).block();
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        FlightSearchRequest route = new FlightSearchRequest();
+        route.setFrom(calendar.getFrom());
+        route.setTo(calendar.getTo());
+        return Flux.fromIterable(registry.sourcesFor(route))
+                .flatMap(s -> safeLowestFares(s, calendar))
+                .collectList()
+                .map(responses -> FareCalendar.merge(calendar, responses));
+    }
+
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest) {
+        List<FlightSearchSourceRegistry.RegisteredSource> sources = registry.sourcesFor(flightSearchRequest);
+        if (sources.isEmpty()) {
+            return Flux.empty();
         }
+        int topPriority = sources.get(0).priority();
+        Flux<FlightSearchResult> first = Flux.merge(sources.stream()
+                .filter(s -> s.priority() == topPriority)
+                .map(s -> safeStream(s, flightSearchRequest))
+                .toList());
+        Flux<FlightSearchResult> rest = Flux.merge(sources.stream()
+                .filter(s -> s.priority() != topPriority)
+                .map(s -> safeStream(s, flightSearchRequest))
+                .toList());
+        return Flux.mergeSequential(first, rest);
+    }
+
+    @Override
+    public String getName() {
+        return "Combined";
+    }
+
+    private FlightSearchResponse merge(FlightSearchRequest flightSearchRequest, List<FlightSearchResponse> responses) {
+        return SearchResultPaging.page(flightSearchRequest, responses, dedupEnabled);
+    }
+
+    FlightSearchSourceRegistry getRegistry() {
+        return registry;
+    }
+
+    Mono<FlightSearchResponse> safeSearch(FlightSearchSourceRegistry.RegisteredSource source, FlightSearchRequest flightSearchRequest) {
+        ReactiveFlightSearchService flightSearchService = source.service();
+        return Mono.defer(() -> flightSearchService.findFlightsAsync(flightSearchRequest))
+                .timeout(source.timeout())
+                .onErrorResume(e -> {
+                    onSourceFailure(flightSearchService, e);
+                    return Mono.empty();
+                });
+    }
+
+    Mono<List<FlightSearchResponse>> safeSearchBatch(FlightSearchSourceRegistry.RegisteredSource source, List<FlightSearchRequest> flightSearchRequests) {
+        ReactiveFlightSearchService flightSearchService = source.service();
+        List<Integer> covered = new ArrayList<>();
+        List<FlightSearchRequest> subset = new ArrayList<>();
+        for (int i = 0; i < flightSearchRequests.size(); i++) {
+            FlightSearchRequest request = flightSearchRequests.get(i);
+            if (source.coverage().covers(request.getFrom(), request.getTo())) {
+                covered.add(i);
+                subset.add(request);
+            }
+        }
+        List<FlightSearchResponse> aligned = new ArrayList<>(Collections.nCopies(flightSearchRequests.size(), null));
+        if (subset.isEmpty()) {
+            return Mono.just(aligned);
+        }
+        return Mono.defer(() -> flightSearchService.findFlightsBatchAsync(subset))
+                .timeout(source.timeout())
+                .map(responses -> {
+                    for (int i = 0; i < covered.size(); i++) {
+                        aligned.set(covered.get(i), responses.get(i));
+                    }
+                    return aligned;
+                })
+                .onErrorResume(e -> {
+                    onSourceFailure(flightSearchService, e);
+                    return Mono.just(aligned);
+                });
+    }
+
+    Mono<FareCalendarResponse> safeLowestFares(FlightSearchSourceRegistry.RegisteredSource source, FareCalendarRequest calendar) {
+        ReactiveFlightSearchService flightSearchService = source.service();
+        return Mono.defer(() -> flightSearchService.findLowestFaresAsync(calendar))
+                .timeout(source.timeout())
+                .onErrorResume(e -> {
+                    onSourceFailure(flightSearchService, e);
+                    return Mono.empty();
+                });
+    }
+
+    private void onSourceFailure(ReactiveFlightSearchService flightSearchService, Throwable e) {
+        flightSearchMetrics.recordFailure(flightSearchService.getName(), e);
+        if (e instanceof TimeoutException) {
+            logger.warn("{} did not answer in time, ignoring", flightSearchService.getName());
+        } else if (e instanceof SupplierUnavailableException) {
+            logger.debug("{}, skipping", e.getMessage());
+        } else {
+            logger.warn("Error while trying to search for flights in {}, ignoring", flightSearchService.getName(), e);
+        }
+    }
+
+    Flux<FlightSearchResult> safeStream(FlightSearchSourceRegistry.RegisteredSource source, FlightSearchRequest flightSearchRequest) {
+        ReactiveFlightSearchService flightSearchService = source.service();
+        return Flux.defer(() -> flightSearchService.streamFlights(flightSearchRequest))
+                .take(source.timeout())
+                .onErrorResume(e -> {
+                    flightSearchMetrics.recordFailure(flightSearchService.getName(), e);
+                    if (e instanceof SupplierUnavailableException) {
+                        logger.debug("{}, skipping", e.getMessage());
+                    } else {
+                        logger.warn("Error while trying to stream flights from {}, ignoring", flightSearchService.getName(), e);
+                    }
+                    return Flux.empty();
+                });
     }
 }
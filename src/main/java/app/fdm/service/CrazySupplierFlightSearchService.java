@@ -1,23 +1,31 @@
 package app.fdm.service;
 
+import app.fdm.config.SupplierHttpClientFactory;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
 import app.fdm.dto.FlightSearchResult;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
-public class CrazySupplierFlightSearchService implements FlightSearchService {
+public class CrazySupplierFlightSearchService implements FlightSearchService, ReactiveFlightSearchService {
 
     public static final String SUPPLIER_NAME = "CrazySupplier";
 
+    private static final SupplierTimeZone SUPPLIER_ZONE = new SupplierTimeZone(ZoneId.of("CET"));
+
     static class CrazySupplierRequest {
         private String from;
         private String to;
@@ -127,33 +135,74 @@ public class CrazySupplierFlightSearchService implements FlightSearchService {
         }
     }
 
+    record SupplierQuery(String from, String to, String outboundDate, String inboundDate) {
+
+        static SupplierQuery of(CrazySupplierRequest request) {
+            return new SupplierQuery(request.getFrom(), request.getTo(), request.getOutboundDate(), request.getInboundDate());
+        }
+    }
+
     private final WebClient webClient;
 
-    public CrazySupplierFlightSearchService(WebClient.Builder webClientBuilder, @Value("${crazy-supplier.url}") String crazySupplierUrl) {
-        this.webClient = webClientBuilder.baseUrl(crazySupplierUrl).build();
+    public CrazySupplierFlightSearchService(SupplierHttpClientFactory supplierHttpClientFactory, @Value("${crazy-supplier.url}") String crazySupplierUrl) {
+        this.webClient = supplierHttpClientFactory.create(SUPPLIER_NAME, crazySupplierUrl);
     }
 
     @Override
     public FlightSearchResponse findFlights(FlightSearchRequest searchRequest) {
+        return findFlightsAsync(searchRequest).block();
+    }
+
+    @Override
+    public List<FlightSearchResponse> findFlightsBatch(List<FlightSearchRequest> searchRequests) {
+        return findFlightsBatchAsync(searchRequests).block();
+    }
+
+    @Override
+    public FareCalendarResponse findLowestFares(FareCalendarRequest calendar) {
+        return findLowestFaresAsync(calendar).block();
+    }
 
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest searchRequest) {
+        return search(toSupplierRequest(searchRequest));
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> searchRequests) {
+        Map<SupplierQuery, Mono<FlightSearchResponse>> calls = new HashMap<>();
+        List<Mono<FlightSearchResponse>> responses = new ArrayList<>(searchRequests.size());
+        for (FlightSearchRequest searchRequest : searchRequests) {
+            CrazySupplierRequest csReq = toSupplierRequest(searchRequest);
+            responses.add(calls.computeIfAbsent(SupplierQuery.of(csReq),
+                    q -> search(csReq).collectList().map(FlightSearchResponse::new).cache()));
+        }
+        return Flux.fromIterable(responses)
+                .flatMapSequential(r -> r)
+                .collectList();
+    }
+
+    private static CrazySupplierRequest toSupplierRequest(FlightSearchRequest searchRequest) {
         CrazySupplierRequest csReq = new CrazySupplierRequest();
         csReq.setFrom(searchRequest.getFrom());
         csReq.setTo(searchRequest.getTo());
         csReq.setOutboundDate(asCetDateTime(searchRequest.getDepartureTime()));
         csReq.setInboundDate(asCetDateTime(searchRequest.getDepartureTime()));
+        return csReq;
+    }
 
-        CrazySupplierResult[] response = webClient.post()
+    private Flux<FlightSearchResult> search(CrazySupplierRequest csReq) {
+        return webClient.post()
                 .uri("/flights")
                 .bodyValue(csReq)
                 .retrieve()
-                .bodyToMono(CrazySupplierResult[].class)
-                .block();
-
-        if (response == null) return new FlightSearchResponse(List.of());
-
-        List<FlightSearchResult> flights = Arrays.stream(response).map(CrazySupplierFlightSearchService::mapToServiceEntity).toList();
-        return new FlightSearchResponse(flights);
+                .bodyToFlux(CrazySupplierResult.class)
+                .map(CrazySupplierFlightSearchService::mapToServiceEntity);
+    }
 
+    @Override
+    public String getName() {
+        return SUPPLIER_NAME;
     }
 
     static FlightSearchResult mapToServiceEntity(CrazySupplierResult flight) {
@@ -172,12 +221,11 @@ public class CrazySupplierFlightSearchService implements FlightSearchService {
         if (zonedDateTime == null) {
             return null;
         }
-        ZonedDateTime cetZonedDateTime = zonedDateTime.withZoneSameInstant(ZoneId.of("CET"));
-        return DateTimeFormatter.ISO_LOCAL_DATE.format(cetZonedDateTime);
+        return SUPPLIER_ZONE.localDate(zonedDateTime);
     }
 
     static ZonedDateTime toUtcDateTime(String zonedDateTime) {
-        return LocalDate.parse(zonedDateTime).atStartOfDay(ZoneId.of("CET"));
+        return SUPPLIER_ZONE.startOfDay(zonedDateTime);
     }
 
 }
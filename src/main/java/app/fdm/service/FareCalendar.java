@@ -0,0 +1,80 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarDay;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class FareCalendar {
+
+    private FareCalendar() {
+    }
+
+    static List<LocalDate> days(FareCalendarRequest calendar) {
+        return calendar.getStartDate().datesUntil(calendar.getEndDate().plusDays(1)).toList();
+    }
+
+    static ZonedDateTime startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC);
+    }
+
+    static List<FlightSearchRequest> daySearches(FareCalendarRequest calendar) {
+        return days(calendar).stream().map(day -> {
+            FlightSearchRequest search = new FlightSearchRequest();
+            search.setFrom(calendar.getFrom());
+            search.setTo(calendar.getTo());
+            search.setAirline(calendar.getAirline());
+            search.setDepartureTime(startOf(day));
+            return search;
+        }).toList();
+    }
+
+    static FareCalendarResponse fromDaySearches(FareCalendarRequest calendar, List<FlightSearchResponse> responses) {
+        List<LocalDate> days = days(calendar);
+        Map<LocalDate, BigDecimal> lowest = new HashMap<>();
+        for (int i = 0; i < days.size(); i++) {
+            FlightSearchResponse response = responses.get(i);
+            if (response == null || response.getResults() == null) {
+                continue;
+            }
+            for (FlightSearchResult result : response.getResults()) {
+                if (result.getFare() != null
+                        && (calendar.getAirline() == null || calendar.getAirline().equalsIgnoreCase(result.getAirline()))) {
+                    lowest.merge(days.get(i), result.getFare(), BigDecimal::min);
+                }
+            }
+        }
+        return of(calendar, lowest);
+    }
+
+    static FareCalendarResponse of(FareCalendarRequest calendar, Map<LocalDate, BigDecimal> lowest) {
+        List<FareCalendarDay> days = new ArrayList<>();
+        for (LocalDate day : days(calendar)) {
+            days.add(new FareCalendarDay(day, lowest.get(day)));
+        }
+        return new FareCalendarResponse(calendar.getFrom(), calendar.getTo(), days);
+    }
+
+    static FareCalendarResponse merge(FareCalendarRequest calendar, List<FareCalendarResponse> responses) {
+        Map<LocalDate, BigDecimal> lowest = new HashMap<>();
+        for (FareCalendarResponse response : responses) {
+            for (FareCalendarDay day : response.getDays()) {
+                if (day.getLowestFare() != null) {
+                    lowest.merge(day.getDate(), day.getLowestFare(), BigDecimal::min);
+                }
+            }
+        }
+        return of(calendar, lowest);
+    }
+}
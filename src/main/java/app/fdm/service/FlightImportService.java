@@ -0,0 +1,332 @@
+package app.fdm.service;
+
+import app.fdm.dto.BulkFlightResponse;
+import app.fdm.dto.Flight;
+import app.fdm.repository.model.FlightEntity;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Service
+public class FlightImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightImportService.class);
+
+    private static final List<Row> END = List.of();
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+        }
+    }
+
+    record Row(int index, Flight flight, RuntimeException error) {
+    }
+
+    private final FlightService flightService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    public FlightImportService(FlightService flightService, ObjectMapper objectMapper,
+                               @Value("${flight-ingest.batch-size:500}") int batchSize,
+                               @Value("${flight-ingest.queue-capacity:8}") int queueCapacity) {
+        this.flightService = flightService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public BulkFlightResponse importFlights(InputStream in, Format format, Consumer<Flight> validator) throws IOException {
+        long start = System.nanoTime();
+        BlockingQueue<List<Row>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService writer = Executors.newSingleThreadExecutor(r -> new Thread(r, "flight-import-writer"));
+        try {
+            Future<BulkFlightResponse> written = writer.submit(() -> write(queue, validator, start));
+            int received = parse(in, format, queue, written);
+            BulkFlightResponse response = written.get();
+            response.setReceived(received);
+            FlightService.recordThroughput(response, start);
+            logger.info("Imported {} of {} rows in {} ms ({} rows/s), {} failed",
+                    response.getSaved(), received, response.getDurationMillis(), response.getRowsPerSecond(), response.getFailed());
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import failed", e.getCause());
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    private int parse(InputStream in, Format format, BlockingQueue<List<Row>> queue, Future<?> written)
+            throws IOException, InterruptedException {
+        int received = 0;
+        try (RowReader rows = format == Format.CSV ? new CsvRows(in) : new NdjsonRows(objectMapper, in)) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            while (rows.hasNext()) {
+                batch.add(rows.next());
+                received++;
+                if (batch.size() >= batchSize) {
+                    if (!put(queue, batch, written)) {
+                        return received;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (rows.failure() != null) {
+                batch.add(new Row(received, null, rows.failure()));
+            }
+            if (!batch.isEmpty()) {
+                put(queue, batch, written);
+            }
+        } finally {
+            put(queue, END, written);
+        }
+        return received;
+    }
+
+    private static boolean put(BlockingQueue<List<Row>> queue, List<Row> batch, Future<?> written) throws InterruptedException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (written.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BulkFlightResponse write(BlockingQueue<List<Row>> queue, Consumer<Flight> validator, long start) throws InterruptedException {
+        BulkFlightResponse response = new BulkFlightResponse();
+        long nextProgress = PROGRESS_INTERVAL;
+        while (true) {
+            List<Row> rows = queue.take();
+            if (rows == END) {
+                return response;
+            }
+            List<FlightEntity> batch = new ArrayList<>(rows.size());
+            List<Integer> batchRows = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                try {
+                    if (row.error() != null) {
+                        throw row.error();
+                    }
+                    validator.accept(row.flight());
+                    FlightEntity entity = FlightService.toFlightEntity(row.flight());
+                    entity.setId(null);
+                    batch.add(entity);
+                    batchRows.add(row.index());
+                } catch (RuntimeException e) {
+                    FlightService.recordError(response, row.index(), e);
+                }
+            }
+            if (!batch.isEmpty()) {
+                flightService.saveBatch(batch, batchRows, response);
+            }
+            int done = rows.get(rows.size() - 1).index() + 1;
+            if (done >= nextProgress) {
+                long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                logger.info("Import progress: {} rows, {} rows/s", done, done * 1000L / elapsedMillis);
+                nextProgress = done + PROGRESS_INTERVAL;
+            }
+        }
+    }
+
+    private interface RowReader extends Iterator<Row>, Closeable {
+
+        RuntimeException failure();
+    }
+
+    private static class NdjsonRows implements RowReader {
+
+        private final MappingIterator<Flight> flights;
+        private RuntimeException failure;
+        private boolean previousFailed;
+        private int index;
+
+        NdjsonRows(ObjectMapper objectMapper, InputStream in) throws IOException {
+            this.flights = objectMapper.readerFor(Flight.class).readValues(in);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (failure != null) {
+                return false;
+            }
+            try {
+                return flights.hasNext();
+            } catch (RuntimeException e) {
+                failure = previousFailed ? null : e;
+                return false;
+            }
+        }
+
+        @Override
+        public Row next() {
+            int current = index++;
+            try {
+                Row row = new Row(current, flights.next(), null);
+                previousFailed = false;
+                return row;
+            } catch (NoSuchElementException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                previousFailed = true;
+                return new Row(current, null, e);
+            }
+        }
+
+        @Override
+        public RuntimeException failure() {
+            return failure;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flights.close();
+        }
+    }
+
+    static class CsvRows implements RowReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private String nextLine;
+        private int index;
+
+        CsvRows(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+            String header = reader.readLine();
+            if (header != null) {
+                List<String> names = split(header);
+                for (int i = 0; i < names.size(); i++) {
+                    columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+
+        @Override
+        public Row next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            int current = index++;
+            advance();
+            try {
+                return new Row(current, toFlight(split(line)), null);
+            } catch (RuntimeException e) {
+                return new Row(current, null, new IllegalArgumentException("Invalid CSV row: " + e.getMessage(), e));
+            }
+        }
+
+        private void advance() {
+            try {
+                do {
+                    nextLine = reader.readLine();
+                } while (nextLine != null && nextLine.isBlank());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Flight toFlight(List<String> values) {
+            Flight flight = new Flight();
+            flight.setAirline(value(values, "airline"));
+            flight.setSupplier(value(values, "supplier"));
+            String fare = value(values, "fare");
+            flight.setFare(fare == null ? null : new BigDecimal(fare));
+            flight.setDepartureAirport(value(values, "departureairport"));
+            flight.setDestinationAirport(value(values, "destinationairport"));
+            String departureTime = value(values, "departuretime");
+            flight.setDepartureTime(departureTime == null ? null : ZonedDateTime.parse(departureTime));
+            String arrivalTime = value(values, "arrivaltime");
+            flight.setArrivalTime(arrivalTime == null ? null : ZonedDateTime.parse(arrivalTime));
+            return flight;
+        }
+
+        private String value(List<String> values, String column) {
+            Integer i = columns.get(column);
+            if (i == null || i >= values.size()) {
+                return null;
+            }
+            String value = values.get(i).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+
+        @Override
+        public RuntimeException failure() {
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.repository.FlightRepository;
+import app.fdm.repository.model.FlightEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class FlightRouteIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRouteIndex.class);
+
+    record RouteKey(String from, String to) {
+
+        static RouteKey of(String from, String to) {
+            return new RouteKey(SearchKey.airportCode(from), SearchKey.airportCode(to));
+        }
+
+        static RouteKey of(FlightEntity flight) {
+            return of(flight.getDepartureAirport(), flight.getDestinationAirport());
+        }
+    }
+
+    static final int LOAD_PAGE_SIZE = 1000;
+    private static final int[] NO_IDS = new int[0];
+
+    private final FlightRepository flightRepository;
+    private final boolean enabled;
+    private volatile Map<RouteKey, RouteColumns> routes = new ConcurrentHashMap<>();
+    private final ValueDictionary<String> strings = new ValueDictionary<>();
+    private final ValueDictionary<ZoneId> zones = new ValueDictionary<>();
+    private final ValueDictionary<RouteKey> routeIds = new ValueDictionary<>();
+    private LongIntMap routeById = new LongIntMap();
+    private final Map<String, int[]> airlineIds = new ConcurrentHashMap<>();
+    private final BitSet indexedAirlines = new BitSet();
+    private volatile Map<String, Set<String>> destinations = new ConcurrentHashMap<>();
+
+    public FlightRouteIndex(FlightRepository flightRepository, @Value("${flight-search.local.index-enabled:true}") boolean enabled) {
+        this.flightRepository = flightRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<RouteKey, RouteColumns.Builder> byRoute = new HashMap<>();
+        LongIntMap loadedIds = new LongIntMap();
+        long lastId = Long.MIN_VALUE;
+        List<FlightEntity> page;
+        do {
+            page = flightRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_PAGE_SIZE));
+            for (FlightEntity flight : page) {
+                RouteKey route = RouteKey.of(flight);
+                byRoute.computeIfAbsent(route, k -> new RouteColumns.Builder(0)).add(flight, strings, zones);
+                indexAirline(flight.getAirline());
+                loadedIds.put(flight.getId(), routeIds.idOf(route));
+                lastId = flight.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        Map<RouteKey, RouteColumns> loadedRoutes = new ConcurrentHashMap<>(Math.max(16, byRoute.size() * 2));
+        Map<String, Set<String>> graph = new ConcurrentHashMap<>();
+        byRoute.forEach((route, builder) -> {
+            loadedRoutes.put(route, builder.build().sortedByDeparture());
+            if (route.from() != null && route.to() != null) {
+                graph.computeIfAbsent(route.from(), k -> ConcurrentHashMap.newKeySet()).add(route.to());
+            }
+        });
+        routeById = loadedIds;
+        routes = loadedRoutes;
+        destinations = graph;
+        logger.info("Indexed {} flights on {} routes in {} ms", loadedIds.size(), loadedRoutes.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<FlightSearchResult> search(FlightSearchRequest search) {
+        int[] airline = search.getAirline() == null ? null : airlineIds(search.getAirline());
+        if (airline != null && airline.length == 0) {
+            return new ArrayList<>();
+        }
+        RouteColumns route = routes.getOrDefault(RouteKey.of(search.getFrom(), search.getTo()), RouteColumns.EMPTY);
+        ZonedDateTime departureFrom = search.getDepartureTime();
+        ZonedDateTime arrivalTo = search.getArrivalTime();
+        int lo = departureFrom == null ? 0 : route.lowerBound(departureFrom.toEpochSecond());
+        int hi = arrivalTo == null ? route.size() : route.lowerBound(arrivalTo.toEpochSecond() + 1);
+        List<FlightSearchResult> results = new ArrayList<>();
+        for (int i = lo; i < hi; i++) {
+            if ((departureFrom == null || route.departsNotBefore(i, departureFrom))
+                    && (arrivalTo == null || route.arrivesNotAfter(i, arrivalTo))
+                    && (airline == null || contains(airline, route.airlines[i]))) {
+                results.add(toResult(route, i));
+            }
+        }
+        return results;
+    }
+
+    public Map<LocalDate, BigDecimal> lowestFarePerDay(String from, String to, ZonedDateTime departureFrom,
+                                                       ZonedDateTime departureTo, String airline) {
+        int[] airlineId = airline == null ? null : airlineIds(airline);
+        if (airlineId != null && airlineId.length == 0) {
+            return new HashMap<>();
+        }
+        RouteColumns route = routes.getOrDefault(RouteKey.of(from, to), RouteColumns.EMPTY);
+        int lo = route.lowerBound(departureFrom.toEpochSecond());
+        int hi = route.lowerBound(departureTo.toEpochSecond());
+        Map<LocalDate, BigDecimal> lowest = new HashMap<>();
+        long day = Long.MIN_VALUE;
+        long dayLowest = RouteColumns.NO_FARE;
+        for (int i = lo; i < hi; i++) {
+            if (route.fares[i] == RouteColumns.NO_FARE
+                    || (airlineId != null && !contains(airlineId, route.airlines[i]))) {
+                continue;
+            }
+            long flightDay = Math.floorDiv(route.departures[i], 86_400L);
+            if (flightDay != day) {
+                putFare(lowest, day, dayLowest);
+                day = flightDay;
+                dayLowest = route.fares[i];
+            } else {
+                dayLowest = Math.min(dayLowest, route.fares[i]);
+            }
+        }
+        putFare(lowest, day, dayLowest);
+        return lowest;
+    }
+
+    public void put(FlightEntity flight) {
+        putAll(List.of(flight));
+    }
+
+    public synchronized void putAll(Collection<FlightEntity> flights) {
+        if (!enabled) {
+            return;
+        }
+        Map<RouteKey, List<FlightEntity>> byRoute = new HashMap<>();
+        for (FlightEntity flight : flights) {
+            if (flight == null || flight.getId() == null) {
+                continue;
+            }
+            RouteKey route = RouteKey.of(flight);
+            int routeId = routeIds.idOf(route);
+            int previous = routeById.put(flight.getId(), routeId);
+            if (previous != LongIntMap.NONE && previous != routeId) {
+                RouteKey left = routeIds.valueOf(previous);
+                routes.computeIfPresent(left, (k, existing) -> existing.without(flight.getId()));
+                updateGraph(left);
+            }
+            byRoute.computeIfAbsent(route, k -> new ArrayList<>()).add(flight);
+            indexAirline(flight.getAirline());
+        }
+        byRoute.forEach((route, added) -> {
+            routes.compute(route, (k, existing) -> (existing == null ? RouteColumns.EMPTY : existing).with(added, strings, zones));
+            updateGraph(route);
+        });
+    }
+
+    public synchronized void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        int routeId = routeById.remove(id);
+        if (routeId != LongIntMap.NONE) {
+            RouteKey route = routeIds.valueOf(routeId);
+            routes.computeIfPresent(route, (k, flights) -> flights.without(id));
+            updateGraph(route);
+        }
+    }
+
+    public synchronized int size() {
+        return routeById.size();
+    }
+
+    Set<String> destinationsFrom(String airport) {
+        String code = SearchKey.airportCode(airport);
+        return code == null ? Set.of() : destinations.getOrDefault(code, Set.of());
+    }
+
+    boolean hasRoute(String from, String to) {
+        return routes.containsKey(RouteKey.of(from, to));
+    }
+
+    RouteColumns route(String from, String to) {
+        return routes.getOrDefault(RouteKey.of(from, to), RouteColumns.EMPTY);
+    }
+
+    private void updateGraph(RouteKey route) {
+        if (route.from() == null || route.to() == null) {
+            return;
+        }
+        if (routes.containsKey(route)) {
+            destinations.computeIfAbsent(route.from(), k -> ConcurrentHashMap.newKeySet()).add(route.to());
+            return;
+        }
+        Set<String> reachable = destinations.get(route.from());
+        if (reachable != null) {
+            reachable.remove(route.to());
+            if (reachable.isEmpty()) {
+                destinations.remove(route.from());
+            }
+        }
+    }
+
+    private void indexAirline(String airline) {
+        int id = strings.idOf(airline);
+        if (id == ValueDictionary.NONE || indexedAirlines.get(id)) {
+            return;
+        }
+        indexedAirlines.set(id);
+        airlineIds.merge(airline.toUpperCase(Locale.ROOT), new int[] {id}, (ids, added) -> {
+            int[] merged = Arrays.copyOf(ids, ids.length + 1);
+            merged[ids.length] = id;
+            return merged;
+        });
+    }
+
+    private int[] airlineIds(String airline) {
+        return airlineIds.getOrDefault(airline.toUpperCase(Locale.ROOT), NO_IDS);
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void putFare(Map<LocalDate, BigDecimal> lowest, long day, long fare) {
+        if (fare != RouteColumns.NO_FARE) {
+            lowest.put(LocalDate.ofEpochDay(day), BigDecimal.valueOf(fare, RouteColumns.FARE_SCALE));
+        }
+    }
+
+    FlightSearchResult toResult(RouteColumns route, int i) {
+        FlightSearchResult result = new FlightSearchResult();
+        result.setAirline(strings.valueOf(route.airlines[i]));
+        result.setSupplier(strings.valueOf(route.suppliers[i]));
+        result.setFare(fare(route, i));
+        result.setDepartureAirport(strings.valueOf(route.departureAirports[i]));
+        result.setDestinationAirport(strings.valueOf(route.destinationAirports[i]));
+        result.setDepartureTime(time(route.departures[i], route.departureNanos[i], route.departureZones[i]));
+        result.setArrivalTime(time(route.arrivals[i], route.arrivalNanos[i], route.arrivalZones[i]));
+        return result;
+    }
+
+    private static BigDecimal fare(RouteColumns route, int i) {
+        return route.fares[i] == RouteColumns.NO_FARE ? null : BigDecimal.valueOf(route.fares[i], RouteColumns.FARE_SCALE);
+    }
+
+    private ZonedDateTime time(long epochSecond, int nanos, int zone) {
+        return epochSecond == RouteColumns.NO_TIME ? null
+                : ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), zones.valueOf(zone));
+    }
+}
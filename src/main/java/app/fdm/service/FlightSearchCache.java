@@ -0,0 +1,119 @@
+package app.fdm.service;
+
+import app.fdm.config.FlightSearchCacheProperties;
+import app.fdm.dto.FlightSearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class FlightSearchCache {
+
+    static final String CACHE_NAME = "flight-search";
+
+    private final FlightSearchCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache<SearchKey, FlightSearchResponse>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Map<FlightRouteIndex.RouteKey, Route>> routes = new ConcurrentHashMap<>();
+
+    private static final class Route {
+
+        private final AtomicLong generation = new AtomicLong();
+        private final Set<SearchKey> keys = ConcurrentHashMap.newKeySet();
+    }
+
+    public FlightSearchCache(FlightSearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReactiveFlightSearchService decorate(ReactiveFlightSearchService source) {
+        Duration ttl = properties.ttl(source.getName());
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return source;
+        }
+        return new CachingFlightSearchService(source, this);
+    }
+
+    FlightSearchResponse get(String sourceName, SearchKey key) {
+        return cache(sourceName).getIfPresent(key);
+    }
+
+    long generation(String sourceName, SearchKey key) {
+        Route route = route(sourceName, key);
+        return route == null ? 0 : route.generation.get();
+    }
+
+    void put(String sourceName, SearchKey key, FlightSearchResponse response, long generation) {
+        Route route = route(sourceName, key);
+        if (route == null) {
+            cache(sourceName).put(key, response);
+            return;
+        }
+        if (route.generation.get() != generation) {
+            return;
+        }
+        cache(sourceName).put(key, response);
+        route.keys.add(key);
+        if (route.generation.get() != generation) {
+            route.keys.remove(key);
+            cache(sourceName).invalidate(key);
+        }
+    }
+
+    public void invalidateRoute(String sourceName, String from, String to) {
+        Route route = routes(sourceName).computeIfAbsent(FlightRouteIndex.RouteKey.of(from, to), k -> new Route());
+        route.generation.incrementAndGet();
+        Cache<SearchKey, FlightSearchResponse> cache = caches.get(sourceName);
+        for (SearchKey key : route.keys) {
+            route.keys.remove(key);
+            if (cache != null) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    private Map<FlightRouteIndex.RouteKey, Route> routes(String sourceName) {
+        return routes.computeIfAbsent(sourceName, n -> new ConcurrentHashMap<>());
+    }
+
+    private Route route(String sourceName, SearchKey key) {
+        if (key.from() == null || key.to() == null) {
+            return null;
+        }
+        return routes(sourceName).computeIfAbsent(new FlightRouteIndex.RouteKey(key.from(), key.to()), k -> new Route());
+    }
+
+    Cache<SearchKey, FlightSearchResponse> cache(String sourceName) {
+        return caches.computeIfAbsent(sourceName, n -> {
+            Cache<SearchKey, FlightSearchResponse> cache = Caffeine.newBuilder()
+                    .expireAfterWrite(properties.ttl(n))
+                    .maximumSize(properties.maximumSize(n))
+                    .recordStats()
+                    .evictionListener((SearchKey key, FlightSearchResponse response, RemovalCause cause) -> {
+                        Route route = key == null ? null : route(n, key);
+                        if (route != null) {
+                            route.keys.remove(key);
+                        }
+                    })
+                    .build();
+            return CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME, "source", n);
+        });
+    }
+}
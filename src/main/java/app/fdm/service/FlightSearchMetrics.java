@@ -0,0 +1,87 @@
+package app.fdm.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class FlightSearchMetrics {
+
+    static final String SEARCH_TIMER = "flight.search.source";
+    static final String RESULTS_SUMMARY = "flight.search.source.results";
+    static final String FAILURE_COUNTER = "flight.search.source.failures";
+    static final String COALESCED_COUNTER = "flight.search.source.coalesced";
+    static final String BATCH_TIMER = "flight.search.source.batch";
+    static final String BATCH_SIZE_SUMMARY = "flight.search.source.batch.searches";
+
+    private final MeterRegistry meterRegistry;
+
+    public FlightSearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReactiveFlightSearchService instrument(ReactiveFlightSearchService source) {
+        return new TimedFlightSearchService(source, this);
+    }
+
+    void recordSearch(String sourceName, long nanos, String outcome, int results) {
+        Timer.builder(SEARCH_TIMER)
+                .description("Time spent by a single flight source on one search")
+                .tag("source", sourceName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (!"error".equals(outcome)) {
+            DistributionSummary.builder(RESULTS_SUMMARY)
+                    .description("Number of flights returned by a single flight source")
+                    .tag("source", sourceName)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(results);
+        }
+    }
+
+    void recordBatch(String sourceName, long nanos, String outcome, int searches) {
+        Timer.builder(BATCH_TIMER)
+                .description("Time spent by a single flight source on one batch of searches")
+                .tag("source", sourceName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(BATCH_SIZE_SUMMARY)
+                .description("Number of searches sent to a flight source in one batch")
+                .tag("source", sourceName)
+                .register(meterRegistry)
+                .record(searches);
+    }
+
+    public void recordFailure(String sourceName, Throwable error) {
+        Counter.builder(FAILURE_COUNTER)
+                .description("Searches whose results were dropped because the source failed or missed the deadline")
+                .tag("source", sourceName)
+                .tag("reason", reason(error))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordCoalesced(String sourceName) {
+        Counter.builder(COALESCED_COUNTER)
+                .description("Searches that joined an identical search already in flight instead of calling the source")
+                .tag("source", sourceName)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String reason(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return error instanceof SupplierUnavailableException ? "rejected" : "error";
+    }
+}
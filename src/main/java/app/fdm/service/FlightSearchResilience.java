@@ -0,0 +1,53 @@
+package app.fdm.service;
+
+import app.fdm.config.FlightSearchResilienceProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+@Component
+public class FlightSearchResilience {
+
+    static final int DEADLINE_MARGIN_DIVISOR = 10;
+
+    private final FlightSearchResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public FlightSearchResilience(FlightSearchResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReactiveFlightSearchService decorate(ReactiveFlightSearchService source, Duration maxTimeout) {
+        String name = source.getName();
+        if (!properties.enabled(name)) {
+            return source;
+        }
+        CircuitBreaker circuitBreaker = new CircuitBreaker(name, properties.failureRateThreshold(),
+                properties.slidingWindowSize(), properties.minimumCalls(), properties.openDuration(),
+                properties.halfOpenCalls(), System::nanoTime);
+        AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout(properties.timeoutPercentile(), properties.timeoutMultiplier(),
+                properties.minTimeout(name), adaptiveMax(maxTimeout));
+
+        Gauge.builder("flight.search.source.circuit.state", circuitBreaker, c -> c.getState().ordinal())
+                .description("Circuit state of a flight source: 0 closed, 1 open, 2 half-open")
+                .tag("source", name)
+                .register(meterRegistry);
+        Gauge.builder("flight.search.source.timeout", adaptiveTimeout, t -> t.current().toNanos() / 1e9)
+                .description("Current adaptive timeout of a flight source")
+                .baseUnit("seconds")
+                .tag("source", name)
+                .register(meterRegistry);
+
+        return new ResilientFlightSearchService(source, circuitBreaker, adaptiveTimeout,
+                new Semaphore(properties.maxConcurrentCalls(name)));
+    }
+
+    // must fire before the caller's deadline, a cancelled call never opens the circuit
+    static Duration adaptiveMax(Duration budget) {
+        return budget.minus(budget.dividedBy(DEADLINE_MARGIN_DIVISOR));
+    }
+}
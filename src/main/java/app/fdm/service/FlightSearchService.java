@@ -1,9 +1,25 @@
 package app.fdm.service;
 
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
 
+import java.util.List;
+
 public interface FlightSearchService {
 
     FlightSearchResponse findFlights(FlightSearchRequest flightSearchRequest);
+
+    default List<FlightSearchResponse> findFlightsBatch(List<FlightSearchRequest> flightSearchRequests) {
+        return flightSearchRequests.stream().map(this::findFlights).toList();
+    }
+
+    default FareCalendarResponse findLowestFares(FareCalendarRequest calendar) {
+        return FareCalendar.fromDaySearches(calendar, findFlightsBatch(FareCalendar.daySearches(calendar)));
+    }
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 }
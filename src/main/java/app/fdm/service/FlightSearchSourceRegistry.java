@@ -0,0 +1,32 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+public class FlightSearchSourceRegistry {
+
+    public record RegisteredSource(String name, int priority, Duration timeout, RouteCoverage coverage,
+                                   ReactiveFlightSearchService service) {
+    }
+
+    private final List<RegisteredSource> sources;
+
+    public FlightSearchSourceRegistry(List<RegisteredSource> sources) {
+        this.sources = sources.stream()
+                .sorted(Comparator.comparingInt(RegisteredSource::priority).reversed().thenComparing(RegisteredSource::name))
+                .toList();
+    }
+
+    public List<RegisteredSource> all() {
+        return sources;
+    }
+
+    public List<RegisteredSource> sourcesFor(FlightSearchRequest flightSearchRequest) {
+        return sources.stream()
+                .filter(s -> s.coverage().covers(flightSearchRequest.getFrom(), flightSearchRequest.getTo()))
+                .toList();
+    }
+}
@@ -1,24 +1,48 @@
 package app.fdm.service;
 
+import app.fdm.dto.BulkFlightError;
+import app.fdm.dto.BulkFlightResponse;
 import app.fdm.dto.Flight;
 import app.fdm.repository.FlightRepository;
 import app.fdm.repository.model.FlightEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class FlightService {
 
+    static final int MAX_REPORTED_ERRORS = 1000;
 
     private final FlightRepository flightRepository;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightRouteIndex flightRouteIndex;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
 
-    public FlightService(FlightRepository flightRepository) {
+    public FlightService(FlightRepository flightRepository, FlightSearchCache flightSearchCache, FlightRouteIndex flightRouteIndex,
+                         TransactionOperations transactionOperations, @Value("${flight-ingest.batch-size:500}") int batchSize) {
         this.flightRepository = flightRepository;
+        this.flightSearchCache = flightSearchCache;
+        this.flightRouteIndex = flightRouteIndex;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
     }
 
     public Flight saveFlight(Flight flight) {
-        return fromFlightEntity(flightRepository.save(toFlightEntity(flight)));
+        FlightEntity saved = flightRepository.save(toFlightEntity(flight));
+        flightRouteIndex.put(saved);
+        invalidateSearches(saved);
+        return fromFlightEntity(saved);
     }
 
     public Optional<Flight> getFlightById(Long id) {
@@ -26,14 +50,124 @@ public class FlightService {
     }
 
     public void deleteFlight(Long id) {
+        Optional<FlightEntity> existing = flightRepository.findById(id);
         flightRepository.deleteById(id);
+        flightRouteIndex.remove(id);
+        existing.ifPresent(this::invalidateSearches);
     }
 
     public Flight updateFlight(Long id, Flight updatedFlight) {
         FlightEntity existing = flightRepository.findById(id).orElseThrow(() -> new RuntimeException("Not found"));
+        // save merges into the managed instance, so read the old route first
+        FlightRouteIndex.RouteKey previousRoute = FlightRouteIndex.RouteKey.of(existing);
         FlightEntity updatedFlightEntity = toFlightEntity(updatedFlight);
         updatedFlightEntity.setId(existing.getId());
-        return fromFlightEntity(flightRepository.save(updatedFlightEntity));
+        FlightEntity saved = flightRepository.save(updatedFlightEntity);
+        flightRouteIndex.put(saved);
+        invalidateSearches(previousRoute);
+        invalidateSearches(FlightRouteIndex.RouteKey.of(saved));
+        return fromFlightEntity(saved);
+    }
+
+    public BulkFlightResponse saveFlights(Iterator<Flight> flights, Consumer<Flight> validator) {
+        long start = System.nanoTime();
+        BulkFlightResponse response = new BulkFlightResponse();
+        List<FlightEntity> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+        int row = 0;
+        while (true) {
+            try {
+                if (!flights.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                recordError(response, row, e);
+                break;
+            }
+            int current = row++;
+            try {
+                Flight flight = flights.next();
+                validator.accept(flight);
+                FlightEntity entity = toFlightEntity(flight);
+                entity.setId(null);
+                batch.add(entity);
+                batchRows.add(current);
+            } catch (RuntimeException e) {
+                recordError(response, current, e);
+            }
+            if (batch.size() >= batchSize) {
+                saveBatch(batch, batchRows, response);
+                batch.clear();
+                batchRows.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch, batchRows, response);
+        }
+        response.setReceived(row);
+        recordThroughput(response, start);
+        return response;
+    }
+
+    static void recordThroughput(BulkFlightResponse response, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        response.setDurationMillis(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(response.getReceived() * 1_000_000_000L / elapsedNanos);
+    }
+
+    void saveBatch(List<FlightEntity> batch, List<Integer> rows, BulkFlightResponse response) {
+        try {
+            List<FlightEntity> saved = transactionOperations.execute(status -> flightRepository.saveAll(batch));
+            afterBulkSave(saved);
+            response.setSaved(response.getSaved() + batch.size());
+        } catch (RuntimeException e) {
+            List<FlightEntity> saved = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                FlightEntity entity = batch.get(i);
+                entity.setId(null);
+                try {
+                    saved.add(transactionOperations.execute(status -> flightRepository.save(entity)));
+                } catch (RuntimeException rowError) {
+                    recordError(response, rows.get(i), rowError);
+                }
+            }
+            afterBulkSave(saved);
+            response.setSaved(response.getSaved() + saved.size());
+        }
+    }
+
+    static void recordError(BulkFlightResponse response, int row, RuntimeException e) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+            response.getErrors().add(new BulkFlightError(row, errorMessage(e)));
+        }
+    }
+
+    private void afterBulkSave(List<FlightEntity> saved) {
+        if (saved == null) {
+            return;
+        }
+        flightRouteIndex.putAll(saved);
+        Set<FlightRouteIndex.RouteKey> routes = new LinkedHashSet<>();
+        for (FlightEntity flight : saved) {
+            routes.add(FlightRouteIndex.RouteKey.of(flight));
+        }
+        routes.forEach(this::invalidateSearches);
+    }
+
+    static String errorMessage(RuntimeException e) {
+        if (e instanceof ResponseStatusException rse) {
+            return rse.getReason();
+        }
+        return e.getMessage();
+    }
+
+    private void invalidateSearches(FlightEntity flight) {
+        invalidateSearches(FlightRouteIndex.RouteKey.of(flight));
+    }
+
+    private void invalidateSearches(FlightRouteIndex.RouteKey route) {
+        flightSearchCache.invalidateRoute(LocalFlightSearchService.SOURCE_NAME, route.from(), route.to());
     }
 
     static FlightEntity toFlightEntity(Flight flight) {
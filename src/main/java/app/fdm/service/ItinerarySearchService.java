@@ -0,0 +1,161 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.Itinerary;
+import app.fdm.dto.ItinerarySearchRequest;
+import app.fdm.dto.ItinerarySearchResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+@Service
+public class ItinerarySearchService {
+
+    public static final int MAX_STOPS = 2;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingLong(Candidate::arrival)
+            .thenComparingLong(Candidate::fare)
+            .thenComparingInt(c -> c.rows().length);
+
+    private record Candidate(RouteColumns[] routes, int[] rows, long arrival, long fare) {
+    }
+
+    private final FlightRouteIndex flightRouteIndex;
+    private final long minConnectionSeconds;
+    private final long maxConnectionSeconds;
+    private final long departureWindowSeconds;
+
+    public ItinerarySearchService(FlightRouteIndex flightRouteIndex,
+                                  @Value("${flight-search.itinerary.min-connection:45m}") Duration minConnection,
+                                  @Value("${flight-search.itinerary.max-connection:12h}") Duration maxConnection,
+                                  @Value("${flight-search.itinerary.departure-window:24h}") Duration departureWindow) {
+        this.flightRouteIndex = flightRouteIndex;
+        this.minConnectionSeconds = minConnection.toSeconds();
+        this.maxConnectionSeconds = maxConnection.toSeconds();
+        this.departureWindowSeconds = departureWindow.toSeconds();
+    }
+
+    public boolean isAvailable() {
+        return flightRouteIndex.isEnabled();
+    }
+
+    public ItinerarySearchResponse findItineraries(ItinerarySearchRequest request) {
+        Search search = new Search(request);
+        search.run(request.getDepartureTime(), Math.min(Math.max(request.getMaxStops(), 0), MAX_STOPS));
+        return new ItinerarySearchResponse(request.getFrom(), request.getTo(), search.itineraries());
+    }
+
+    private final class Search {
+
+        private final String target;
+        private final long latestArrival;
+        private final int limit;
+        private final String[] airports = new String[MAX_STOPS + 2];
+        private final RouteColumns[] routes = new RouteColumns[MAX_STOPS + 1];
+        private final int[] rows = new int[MAX_STOPS + 1];
+        private final PriorityQueue<Candidate> best;
+
+        Search(ItinerarySearchRequest request) {
+            this.airports[0] = SearchKey.airportCode(request.getFrom());
+            this.target = SearchKey.airportCode(request.getTo());
+            this.latestArrival = request.getArrivalTime() == null ? Long.MAX_VALUE : request.getArrivalTime().toEpochSecond();
+            this.limit = Math.max(request.getLimit(), 1);
+            this.best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        }
+
+        void run(ZonedDateTime departureTime, int maxStops) {
+            long earliest = departureTime.toEpochSecond() + (departureTime.getNano() > 0 ? 1 : 0);
+            extend(0, earliest, earliest + departureWindowSeconds, maxStops);
+        }
+
+        private void extend(int depth, long readyAt, long latestDeparture, int stopsLeft) {
+            String airport = airports[depth];
+            for (String next : flightRouteIndex.destinationsFrom(airport)) {
+                boolean arrives = next.equals(target);
+                if (!arrives && (stopsLeft == 0 || onPath(next, depth) || !reaches(next, stopsLeft - 1, depth))) {
+                    continue;
+                }
+                RouteColumns route = flightRouteIndex.route(airport, next);
+                int hi = route.lowerBound(latestDeparture + 1);
+                for (int i = route.lowerBound(readyAt); i < hi; i++) {
+                    long arrival = route.arrivals[i];
+                    if (arrival == RouteColumns.NO_TIME || route.fares[i] == RouteColumns.NO_FARE
+                            || arrival < route.departures[i] || arrival > latestArrival || arrival > worstArrival()) {
+                        continue;
+                    }
+                    routes[depth] = route;
+                    rows[depth] = i;
+                    if (arrives) {
+                        offer(depth + 1, arrival);
+                    } else {
+                        airports[depth + 1] = next;
+                        extend(depth + 1, arrival + minConnectionSeconds, arrival + maxConnectionSeconds, stopsLeft - 1);
+                    }
+                }
+            }
+        }
+
+        private boolean reaches(String airport, int stops, int depth) {
+            if (flightRouteIndex.hasRoute(airport, target)) {
+                return true;
+            }
+            if (stops == 0) {
+                return false;
+            }
+            for (String via : flightRouteIndex.destinationsFrom(airport)) {
+                if (!via.equals(target) && !via.equals(airport) && !onPath(via, depth) && reaches(via, stops - 1, depth)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean onPath(String airport, int depth) {
+            for (int i = 0; i <= depth; i++) {
+                if (airports[i].equals(airport)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long worstArrival() {
+            return best.size() < limit ? Long.MAX_VALUE : best.peek().arrival();
+        }
+
+        private void offer(int legs, long arrival) {
+            long fare = 0;
+            for (int i = 0; i < legs; i++) {
+                fare += routes[i].fares[rows[i]];
+            }
+            Candidate candidate = new Candidate(Arrays.copyOf(routes, legs), Arrays.copyOf(rows, legs), arrival, fare);
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (BEST_FIRST.compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        List<Itinerary> itineraries() {
+            List<Candidate> sorted = new ArrayList<>(best);
+            sorted.sort(BEST_FIRST);
+            List<Itinerary> itineraries = new ArrayList<>(sorted.size());
+            for (Candidate candidate : sorted) {
+                List<FlightSearchResult> legs = new ArrayList<>(candidate.rows().length);
+                for (int i = 0; i < candidate.rows().length; i++) {
+                    legs.add(flightRouteIndex.toResult(candidate.routes()[i], candidate.rows()[i]));
+                }
+                itineraries.add(new Itinerary(legs));
+            }
+            return itineraries;
+        }
+    }
+}
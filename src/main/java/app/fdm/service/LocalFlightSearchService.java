@@ -1,32 +1,96 @@
 package app.fdm.service;
 
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
 import app.fdm.dto.FlightSearchResult;
 import app.fdm.repository.FlightRepository;
+import app.fdm.repository.FlightSpecifications;
 import app.fdm.repository.model.FlightEntity;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 public class LocalFlightSearchService implements FlightSearchService {
 
+    public static final String SOURCE_NAME = "Local";
+
     private final FlightRepository flightRepository;
+    private final FlightRouteIndex flightRouteIndex;
 
-    public LocalFlightSearchService(FlightRepository flightRepository) {
+    public LocalFlightSearchService(FlightRepository flightRepository, FlightRouteIndex flightRouteIndex) {
         this.flightRepository = flightRepository;
+        this.flightRouteIndex = flightRouteIndex;
     }
 
     @Override
     public FlightSearchResponse findFlights(FlightSearchRequest search) {
-        List<FlightSearchResult> dbFlights = flightRepository.findByDepartureAirportAndDestinationAirport(search.getFrom(), search.getTo()).stream()
+        if (flightRouteIndex.isEnabled()) {
+            return new FlightSearchResponse(flightRouteIndex.search(search));
+        }
+        List<FlightSearchResult> dbFlights = flightRepository.findAll(FlightSpecifications.matching(search)).stream()
                 .filter(f -> filterMatch(f, search))
                 .map(LocalFlightSearchService::mapToServiceEntity)
                 .toList();
         return new FlightSearchResponse(dbFlights);
     }
 
+    @Override
+    public List<FlightSearchResponse> findFlightsBatch(List<FlightSearchRequest> searches) {
+        if (flightRouteIndex.isEnabled()) {
+            return FlightSearchService.super.findFlightsBatch(searches);
+        }
+        List<FlightEntity> candidates = flightRepository.findAll(FlightSpecifications.matchingAny(searches));
+        Map<FlightRouteIndex.RouteKey, List<FlightEntity>> byRoute = new HashMap<>();
+        for (FlightEntity flight : candidates) {
+            byRoute.computeIfAbsent(FlightRouteIndex.RouteKey.of(flight), k -> new ArrayList<>()).add(flight);
+        }
+        return searches.stream()
+                .map(search -> new FlightSearchResponse(candidatesFor(search, candidates, byRoute).stream()
+                        .filter(f -> filterMatch(f, search))
+                        .map(LocalFlightSearchService::mapToServiceEntity)
+                        .toList()))
+                .toList();
+    }
+
+    private static List<FlightEntity> candidatesFor(FlightSearchRequest search, List<FlightEntity> candidates,
+                                                    Map<FlightRouteIndex.RouteKey, List<FlightEntity>> byRoute) {
+        if (search.getFrom() == null || search.getTo() == null) {
+            return candidates;
+        }
+        return byRoute.getOrDefault(FlightRouteIndex.RouteKey.of(search.getFrom(), search.getTo()), List.of());
+    }
+
+    @Override
+    public FareCalendarResponse findLowestFares(FareCalendarRequest calendar) {
+        ZonedDateTime departureFrom = FareCalendar.startOf(calendar.getStartDate());
+        ZonedDateTime departureTo = FareCalendar.startOf(calendar.getEndDate().plusDays(1));
+        if (flightRouteIndex.isEnabled()) {
+            return FareCalendar.of(calendar, flightRouteIndex.lowestFarePerDay(
+                    calendar.getFrom(), calendar.getTo(), departureFrom, departureTo, calendar.getAirline()));
+        }
+        String airline = calendar.getAirline() == null ? null : calendar.getAirline().toUpperCase(Locale.ROOT);
+        Map<LocalDate, BigDecimal> lowest = new HashMap<>();
+        flightRepository.findLowestFarePerDay(FlightSpecifications.airportCode(calendar.getFrom()),
+                        FlightSpecifications.airportCode(calendar.getTo()), departureFrom, departureTo, airline)
+                .forEach(d -> lowest.put(d.getDay(), d.getLowestFare()));
+        return FareCalendar.of(calendar, lowest);
+    }
+
+    @Override
+    public String getName() {
+        return SOURCE_NAME;
+    }
+
 
     static boolean filterMatch(FlightEntity flight, FlightSearchRequest r) {
         return (r.getAirline() == null || flight.getAirline().equalsIgnoreCase(r.getAirline())) &&
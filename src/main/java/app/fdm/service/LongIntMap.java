@@ -0,0 +1,108 @@
+package app.fdm.service;
+
+import java.util.Arrays;
+
+final class LongIntMap {
+
+    static final int NONE = -1;
+
+    private long[] keys;
+    // NONE marks a free slot
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntMap() {
+        allocate(16);
+    }
+
+    int get(long key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            if (values[i] == NONE || keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative: " + value);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int i = slot(key);
+        while (values[i] != NONE) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return NONE;
+    }
+
+    int remove(long key) {
+        int i = slot(key);
+        while (values[i] != NONE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        int previous = values[i];
+        if (previous == NONE) {
+            return NONE;
+        }
+        // backward shift, no tombstones
+        int hole = i;
+        for (int j = (i + 1) & mask; values[j] != NONE; j = (j + 1) & mask) {
+            if (!cyclicallyBetween(slot(keys[j]), hole, j)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = NONE;
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(16);
+        size = 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NONE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NONE);
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static boolean cyclicallyBetween(int home, int from, int to) {
+        return from <= to ? from < home && home <= to : from < home || home <= to;
+    }
+}
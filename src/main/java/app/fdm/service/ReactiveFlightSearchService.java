@@ -0,0 +1,33 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveFlightSearchService {
+
+    Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest);
+
+    default Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return streamFlights(flightSearchRequest).collectList().map(FlightSearchResponse::new);
+    }
+
+    default Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        return Flux.fromIterable(flightSearchRequests)
+                .flatMapSequential(r -> findFlightsAsync(r).defaultIfEmpty(new FlightSearchResponse(List.of())))
+                .collectList();
+    }
+
+    default Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        return findFlightsBatchAsync(FareCalendar.daySearches(calendar))
+                .map(responses -> FareCalendar.fromDaySearches(calendar, responses));
+    }
+
+    String getName();
+}
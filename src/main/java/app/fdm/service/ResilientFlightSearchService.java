@@ -0,0 +1,133 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class ResilientFlightSearchService implements ReactiveFlightSearchService {
+
+    private final ReactiveFlightSearchService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveTimeout adaptiveTimeout;
+    private final Semaphore bulkhead;
+
+    public ResilientFlightSearchService(ReactiveFlightSearchService delegate, CircuitBreaker circuitBreaker,
+                                        AdaptiveTimeout adaptiveTimeout, Semaphore bulkhead) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.adaptiveTimeout = adaptiveTimeout;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return Mono.defer(() -> {
+            SupplierUnavailableException rejected = acquire();
+            if (rejected != null) {
+                return Mono.error(rejected);
+            }
+            long start = System.nanoTime();
+            Runnable release = releaseOnce();
+            return delegate.findFlightsAsync(flightSearchRequest)
+                    .timeout(adaptiveTimeout.current())
+                    .doOnSuccess(r -> onSuccess(start))
+                    .doOnError(e -> circuitBreaker.onFailure())
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doOnTerminate(release)
+                    .doOnCancel(release);
+        });
+    }
+
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest) {
+        return Flux.defer(() -> {
+            SupplierUnavailableException rejected = acquire();
+            if (rejected != null) {
+                return Flux.error(rejected);
+            }
+            long start = System.nanoTime();
+            Duration timeout = adaptiveTimeout.current();
+            AtomicBoolean timedOut = new AtomicBoolean();
+            Runnable release = releaseOnce();
+            return delegate.streamFlights(flightSearchRequest)
+                    .takeUntilOther(Mono.delay(timeout).doOnNext(t -> timedOut.set(true)))
+                    .doOnComplete(() -> {
+                        if (timedOut.get()) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            onSuccess(start);
+                        }
+                    })
+                    .doOnError(e -> circuitBreaker.onFailure())
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doOnTerminate(release)
+                    .doOnCancel(release);
+        });
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        return guardedWithoutLatency(() -> delegate.findFlightsBatchAsync(flightSearchRequests));
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        return guardedWithoutLatency(() -> delegate.findLowestFaresAsync(calendar));
+    }
+
+    private <T> Mono<T> guardedWithoutLatency(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            SupplierUnavailableException rejected = acquire();
+            if (rejected != null) {
+                return Mono.error(rejected);
+            }
+            Runnable release = releaseOnce();
+            return call.get()
+                    .doOnSuccess(r -> circuitBreaker.onSuccess())
+                    .doOnError(e -> circuitBreaker.onFailure())
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doOnTerminate(release)
+                    .doOnCancel(release);
+        });
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    private SupplierUnavailableException acquire() {
+        if (!bulkhead.tryAcquire()) {
+            return new SupplierUnavailableException(getName() + " has too many searches in flight");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            return new SupplierUnavailableException(getName() + " circuit is open");
+        }
+        return null;
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        };
+    }
+
+    private void onSuccess(long start) {
+        circuitBreaker.onSuccess();
+        adaptiveTimeout.record(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,254 @@
+package app.fdm.service;
+
+import app.fdm.repository.model.FlightEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+final class RouteColumns {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteColumns.class);
+
+    static final long NO_TIME = Long.MIN_VALUE;
+    static final long NO_FARE = Long.MIN_VALUE;
+    static final int FARE_SCALE = 2;
+
+    static final RouteColumns EMPTY = new Builder(0).build();
+
+    final long[] ids;
+    final long[] departures;
+    final int[] departureNanos;
+    final int[] departureZones;
+    final long[] arrivals;
+    final int[] arrivalNanos;
+    final int[] arrivalZones;
+    final long[] fares;
+    final int[] airlines;
+    final int[] suppliers;
+    final int[] departureAirports;
+    final int[] destinationAirports;
+
+    private RouteColumns(Builder b) {
+        ids = trim(b.ids, b.size);
+        departures = trim(b.departures, b.size);
+        departureNanos = trim(b.departureNanos, b.size);
+        departureZones = trim(b.departureZones, b.size);
+        arrivals = trim(b.arrivals, b.size);
+        arrivalNanos = trim(b.arrivalNanos, b.size);
+        arrivalZones = trim(b.arrivalZones, b.size);
+        fares = trim(b.fares, b.size);
+        airlines = trim(b.airlines, b.size);
+        suppliers = trim(b.suppliers, b.size);
+        departureAirports = trim(b.departureAirports, b.size);
+        destinationAirports = trim(b.destinationAirports, b.size);
+    }
+
+    private static long[] trim(long[] column, int size) {
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    private static int[] trim(int[] column, int size) {
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    static RouteColumns of(List<FlightEntity> flights, ValueDictionary<String> strings, ValueDictionary<ZoneId> zones) {
+        FlightEntity[] sorted = flights.toArray(new FlightEntity[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(f -> epochSecond(f.getDepartureTime())));
+        Builder builder = new Builder(sorted.length);
+        for (FlightEntity flight : sorted) {
+            builder.add(flight, strings, zones);
+        }
+        return builder.build();
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    RouteColumns sortedByDeparture() {
+        boolean sorted = true;
+        for (int i = 1; i < size() && sorted; i++) {
+            sorted = departures[i - 1] <= departures[i];
+        }
+        if (sorted) {
+            return this;
+        }
+        Integer[] order = new Integer[size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> departures[i]));
+        Builder builder = new Builder(size());
+        for (int i : order) {
+            builder.add(this, i);
+        }
+        return builder.build();
+    }
+
+    RouteColumns without(long id) {
+        Builder builder = new Builder(size());
+        for (int i = 0; i < size(); i++) {
+            if (ids[i] != id) {
+                builder.add(this, i);
+            }
+        }
+        return builder.size == 0 ? null : builder.build();
+    }
+
+    RouteColumns with(List<FlightEntity> added, ValueDictionary<String> strings, ValueDictionary<ZoneId> zones) {
+        RouteColumns additions = of(added, strings, zones);
+        long[] replaced = additions.ids.clone();
+        Arrays.sort(replaced);
+        Builder builder = new Builder(size() + additions.size());
+        int i = 0;
+        int j = 0;
+        while (i < size() || j < additions.size()) {
+            if (i < size() && Arrays.binarySearch(replaced, ids[i]) >= 0) {
+                i++;
+            } else if (j >= additions.size() || (i < size() && departures[i] <= additions.departures[j])) {
+                builder.add(this, i++);
+            } else {
+                builder.add(additions, j++);
+            }
+        }
+        return builder.build();
+    }
+
+    // first index whose departure is >= epochSecond
+    int lowerBound(long epochSecond) {
+        int lo = 0;
+        int hi = departures.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (departures[mid] < epochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    boolean departsNotBefore(int i, ZonedDateTime time) {
+        long second = time.toEpochSecond();
+        return departures[i] != NO_TIME
+                && (departures[i] > second || (departures[i] == second && departureNanos[i] >= time.getNano()));
+    }
+
+    boolean arrivesNotAfter(int i, ZonedDateTime time) {
+        long second = time.toEpochSecond();
+        return arrivals[i] != NO_TIME
+                && (arrivals[i] < second || (arrivals[i] == second && arrivalNanos[i] <= time.getNano()));
+    }
+
+    static long cents(FlightEntity flight) {
+        if (flight.getFare() == null) {
+            return NO_FARE;
+        }
+        try {
+            return flight.getFare().setScale(FARE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            logger.warn("Fare {} of flight {} is out of range, indexed without a fare", flight.getFare(), flight.getId());
+            return NO_FARE;
+        }
+    }
+
+    static long epochSecond(ZonedDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond();
+    }
+
+    static final class Builder {
+
+        private long[] ids;
+        private long[] departures;
+        private int[] departureNanos;
+        private int[] departureZones;
+        private long[] arrivals;
+        private int[] arrivalNanos;
+        private int[] arrivalZones;
+        private long[] fares;
+        private int[] airlines;
+        private int[] suppliers;
+        private int[] departureAirports;
+        private int[] destinationAirports;
+        private int size;
+
+        Builder(int capacity) {
+            ids = new long[capacity];
+            departures = new long[capacity];
+            departureNanos = new int[capacity];
+            departureZones = new int[capacity];
+            arrivals = new long[capacity];
+            arrivalNanos = new int[capacity];
+            arrivalZones = new int[capacity];
+            fares = new long[capacity];
+            airlines = new int[capacity];
+            suppliers = new int[capacity];
+            departureAirports = new int[capacity];
+            destinationAirports = new int[capacity];
+        }
+
+        void add(FlightEntity flight, ValueDictionary<String> strings, ValueDictionary<ZoneId> zones) {
+            ensureCapacity();
+            int n = size++;
+            ids[n] = flight.getId();
+            departures[n] = epochSecond(flight.getDepartureTime());
+            departureNanos[n] = flight.getDepartureTime() == null ? 0 : flight.getDepartureTime().getNano();
+            departureZones[n] = zones.idOf(flight.getDepartureTime() == null ? null : flight.getDepartureTime().getZone());
+            arrivals[n] = epochSecond(flight.getArrivalTime());
+            arrivalNanos[n] = flight.getArrivalTime() == null ? 0 : flight.getArrivalTime().getNano();
+            arrivalZones[n] = zones.idOf(flight.getArrivalTime() == null ? null : flight.getArrivalTime().getZone());
+            fares[n] = cents(flight);
+            airlines[n] = strings.idOf(flight.getAirline());
+            suppliers[n] = strings.idOf(flight.getSupplier());
+            departureAirports[n] = strings.idOf(flight.getDepartureAirport());
+            destinationAirports[n] = strings.idOf(flight.getDestinationAirport());
+        }
+
+        void add(RouteColumns source, int i) {
+            ensureCapacity();
+            int n = size++;
+            ids[n] = source.ids[i];
+            departures[n] = source.departures[i];
+            departureNanos[n] = source.departureNanos[i];
+            departureZones[n] = source.departureZones[i];
+            arrivals[n] = source.arrivals[i];
+            arrivalNanos[n] = source.arrivalNanos[i];
+            arrivalZones[n] = source.arrivalZones[i];
+            fares[n] = source.fares[i];
+            airlines[n] = source.airlines[i];
+            suppliers[n] = source.suppliers[i];
+            departureAirports[n] = source.departureAirports[i];
+            destinationAirports[n] = source.destinationAirports[i];
+        }
+
+        RouteColumns build() {
+            return new RouteColumns(this);
+        }
+
+        private void ensureCapacity() {
+            if (size < ids.length) {
+                return;
+            }
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            departures = Arrays.copyOf(departures, capacity);
+            departureNanos = Arrays.copyOf(departureNanos, capacity);
+            departureZones = Arrays.copyOf(departureZones, capacity);
+            arrivals = Arrays.copyOf(arrivals, capacity);
+            arrivalNanos = Arrays.copyOf(arrivalNanos, capacity);
+            arrivalZones = Arrays.copyOf(arrivalZones, capacity);
+            fares = Arrays.copyOf(fares, capacity);
+            airlines = Arrays.copyOf(airlines, capacity);
+            suppliers = Arrays.copyOf(suppliers, capacity);
+            departureAirports = Arrays.copyOf(departureAirports, capacity);
+            destinationAirports = Arrays.copyOf(destinationAirports, capacity);
+        }
+    }
+}
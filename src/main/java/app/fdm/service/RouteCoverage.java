@@ -0,0 +1,67 @@
+package app.fdm.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public class RouteCoverage {
+
+    public static final RouteCoverage ALL = of(List.of(), List.of());
+
+    private final Patterns routes;
+    private final Patterns excluded;
+
+    private RouteCoverage(Patterns routes, Patterns excluded) {
+        this.routes = routes;
+        this.excluded = excluded;
+    }
+
+    public static RouteCoverage of(List<String> routes, List<String> excludedRoutes) {
+        Patterns covered = Patterns.parse(routes);
+        return new RouteCoverage(routes.isEmpty() ? Patterns.ANY : covered, Patterns.parse(excludedRoutes));
+    }
+
+    public boolean covers(String from, String to) {
+        if (from == null || to == null) {
+            return true;
+        }
+        String normalizedFrom = from.trim().toUpperCase(Locale.ROOT);
+        String normalizedTo = to.trim().toUpperCase(Locale.ROOT);
+        return routes.matches(normalizedFrom, normalizedTo) && !excluded.matches(normalizedFrom, normalizedTo);
+    }
+
+    private record Patterns(boolean any, Set<String> pairs, Set<String> fromAnywhere, Set<String> toAnywhere) {
+
+        static final Patterns ANY = new Patterns(true, Set.of(), Set.of(), Set.of());
+
+        static Patterns parse(List<String> patterns) {
+            boolean any = false;
+            Set<String> pairs = new HashSet<>();
+            Set<String> fromAnywhere = new HashSet<>();
+            Set<String> toAnywhere = new HashSet<>();
+            for (String pattern : patterns) {
+                String[] parts = pattern.trim().toUpperCase(Locale.ROOT).split("-");
+                if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                    throw new IllegalArgumentException("Route pattern must look like FROM-TO but was " + pattern);
+                }
+                String from = parts[0].trim();
+                String to = parts[1].trim();
+                if (from.equals("*") && to.equals("*")) {
+                    any = true;
+                } else if (from.equals("*")) {
+                    toAnywhere.add(to);
+                } else if (to.equals("*")) {
+                    fromAnywhere.add(from);
+                } else {
+                    pairs.add(from + "-" + to);
+                }
+            }
+            return new Patterns(any, Set.copyOf(pairs), Set.copyOf(fromAnywhere), Set.copyOf(toAnywhere));
+        }
+
+        boolean matches(String from, String to) {
+            return any || fromAnywhere.contains(from) || toAnywhere.contains(to) || pairs.contains(from + "-" + to);
+        }
+    }
+}
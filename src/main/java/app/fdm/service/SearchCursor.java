@@ -0,0 +1,73 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+public record SearchCursor(FlightSearchSort sort, FlightSearchResult last, int repeats) {
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(sort.getKey());
+            writeNullable(out, last.getFare() == null ? null : last.getFare().toPlainString());
+            writeNullable(out, last.getDepartureTime() == null ? null : last.getDepartureTime().toInstant().toString());
+            writeNullable(out, last.getArrivalTime() == null ? null : last.getArrivalTime().toInstant().toString());
+            writeNullable(out, last.getAirline());
+            writeNullable(out, last.getSupplier());
+            writeNullable(out, last.getDepartureAirport());
+            writeNullable(out, last.getDestinationAirport());
+            out.writeInt(repeats);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            FlightSearchSort sort = FlightSearchSort.fromKey(in.readUTF());
+            FlightSearchResult last = new FlightSearchResult();
+            String fare = readNullable(in);
+            last.setFare(fare == null ? null : new BigDecimal(fare));
+            last.setDepartureTime(toDateTime(readNullable(in)));
+            last.setArrivalTime(toDateTime(readNullable(in)));
+            last.setAirline(readNullable(in));
+            last.setSupplier(readNullable(in));
+            last.setDepartureAirport(readNullable(in));
+            last.setDestinationAirport(readNullable(in));
+            int repeats = in.readInt();
+            if (repeats < 1 || in.available() > 0) {
+                throw new IllegalArgumentException("repeats " + repeats);
+            }
+            return new SearchCursor(sort, last, repeats);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static ZonedDateTime toDateTime(String instant) {
+        return instant == null ? null : Instant.parse(instant).atZone(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,32 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+public record SearchKey(String from, String to, String airline, Instant departureTime, Instant arrivalTime) {
+
+    public static SearchKey of(FlightSearchRequest request) {
+        return new SearchKey(
+                airportCode(request.getFrom()),
+                airportCode(request.getTo()),
+                normalize(request.getAirline()),
+                toInstant(request.getDepartureTime()),
+                toInstant(request.getArrivalTime()));
+    }
+
+    static String airportCode(String code) {
+        String known = Airports.intern(code);
+        return known != null ? known : normalize(code);
+    }
+
+    static String normalize(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Instant toInstant(ZonedDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
+}
@@ -0,0 +1,136 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightOffer;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SearchResultDedup {
+
+    static final class FlightKey {
+
+        private final FlightSearchResult result;
+        private final long departureEpochSecond;
+        private final int hash;
+
+        private FlightKey(FlightSearchResult result) {
+            this.result = result;
+            this.departureEpochSecond = result.getDepartureTime().toEpochSecond();
+            int h = Long.hashCode(departureEpochSecond);
+            h = 31 * h + caseInsensitiveHash(result.getAirline());
+            h = 31 * h + caseInsensitiveHash(result.getDepartureAirport());
+            h = 31 * h + caseInsensitiveHash(result.getDestinationAirport());
+            this.hash = h;
+        }
+
+        static FlightKey of(FlightSearchResult result) {
+            if (result.getAirline() == null || result.getDepartureAirport() == null
+                    || result.getDestinationAirport() == null || result.getDepartureTime() == null) {
+                return null;
+            }
+            return new FlightKey(result);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FlightKey other) || hash != other.hash || departureEpochSecond != other.departureEpochSecond) {
+                return false;
+            }
+            FlightSearchResult a = result;
+            FlightSearchResult b = other.result;
+            return a.getDepartureTime().getNano() == b.getDepartureTime().getNano()
+                    && a.getAirline().trim().equalsIgnoreCase(b.getAirline().trim())
+                    && a.getDepartureAirport().trim().equalsIgnoreCase(b.getDepartureAirport().trim())
+                    && a.getDestinationAirport().trim().equalsIgnoreCase(b.getDestinationAirport().trim());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static int caseInsensitiveHash(String value) {
+            int h = 0;
+            int end = value.length();
+            int start = 0;
+            while (start < end && Character.isWhitespace(value.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+                end--;
+            }
+            for (int i = start; i < end; i++) {
+                h = 31 * h + Character.toUpperCase(value.charAt(i));
+            }
+            return h;
+        }
+    }
+
+    private SearchResultDedup() {
+    }
+
+    static FlightSearchResponse cheapest(List<FlightSearchResponse> responses, boolean withAlternatives) {
+        int total = 0;
+        for (FlightSearchResponse response : responses) {
+            if (response != null && response.getResults() != null) {
+                total += response.getResults().size();
+            }
+        }
+        Map<Object, FlightSearchResult> best = new LinkedHashMap<>(Math.max(16, total * 4 / 3 + 1));
+        Map<Object, List<FlightSearchResult>> offers = withAlternatives ? new HashMap<>() : null;
+        for (FlightSearchResponse response : responses) {
+            if (response == null || response.getResults() == null) {
+                continue;
+            }
+            for (FlightSearchResult result : response.getResults()) {
+                FlightKey flightKey = FlightKey.of(result);
+                Object key = flightKey == null ? result : flightKey;
+                FlightSearchResult kept = best.putIfAbsent(key, result);
+                if (kept != null && cheaper(result, kept)) {
+                    best.put(key, result);
+                }
+                if (offers != null && flightKey != null) {
+                    offers.computeIfAbsent(key, k -> new ArrayList<>(2)).add(result);
+                }
+            }
+        }
+
+        List<FlightSearchResult> results = new ArrayList<>(best.size());
+        for (Map.Entry<Object, FlightSearchResult> entry : best.entrySet()) {
+            FlightSearchResult result = entry.getValue();
+            List<FlightSearchResult> sameFlight = offers == null ? null : offers.get(entry.getKey());
+            if (sameFlight != null && sameFlight.size() > 1) {
+                result = withAlternatives(result, sameFlight);
+            }
+            results.add(result);
+        }
+        return new FlightSearchResponse(results);
+    }
+
+    private static boolean cheaper(FlightSearchResult candidate, FlightSearchResult kept) {
+        if (candidate.getFare() == null) {
+            return false;
+        }
+        return kept.getFare() == null || candidate.getFare().compareTo(kept.getFare()) < 0;
+    }
+
+    static FlightSearchResult withAlternatives(FlightSearchResult cheapest, List<FlightSearchResult> sameFlight) {
+        List<FlightOffer> alternatives = new ArrayList<>(sameFlight.size() - 1);
+        for (FlightSearchResult offer : sameFlight) {
+            if (offer != cheapest) {
+                alternatives.add(new FlightOffer(offer.getSupplier(), offer.getFare()));
+            }
+        }
+        FlightSearchResult copy = cheapest.copy();
+        copy.setAlternatives(alternatives);
+        return copy;
+    }
+}
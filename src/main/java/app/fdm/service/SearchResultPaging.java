@@ -0,0 +1,244 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+final class SearchResultPaging {
+
+    private SearchResultPaging() {
+    }
+
+    static FlightSearchResponse page(FlightSearchRequest request, List<FlightSearchResponse> responses, boolean dedup) {
+        if (request.getSort() == null && request.getLimit() == null && request.getCursor() == null) {
+            return dedup ? SearchResultDedup.cheapest(responses, request.isAlternatives()) : FlightSearchResponse.combine(responses);
+        }
+        SearchCursor cursor = request.getCursor() == null ? null : SearchCursor.decode(request.getCursor());
+        FlightSearchSort sort = request.getSort() != null ? request.getSort()
+                : cursor != null ? cursor.sort() : FlightSearchSort.FARE;
+        if (cursor != null && cursor.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort().getKey());
+        }
+        Comparator<FlightSearchResult> order = order(sort);
+        int capacity = request.getLimit() == null ? Integer.MAX_VALUE : request.getLimit() + 1;
+
+        Set<SearchResultDedup.FlightKey> served = new HashSet<>();
+        Candidates best;
+        do {
+            best = new Candidates(order, capacity, dedup, served);
+            best.collect(responses, cursor);
+        } while (cursor != null && dedup && served.addAll(best.servedBefore(responses, cursor)));
+
+        List<FlightSearchResult> page = new ArrayList<>(best.heap);
+        page.sort(order);
+        SearchCursor nextCursor = null;
+        if (request.getLimit() != null && page.size() > request.getLimit()) {
+            page = new ArrayList<>(page.subList(0, request.getLimit()));
+            nextCursor = nextCursor(sort, order, cursor, page);
+        }
+        if (dedup && request.isAlternatives()) {
+            best.addAlternatives(responses, page);
+        }
+        FlightSearchResponse pageResponse = new FlightSearchResponse(page);
+        if (nextCursor != null) {
+            pageResponse.setNextCursor(nextCursor.encode());
+        }
+        return pageResponse;
+    }
+
+    private static final class Candidates {
+
+        private final Comparator<FlightSearchResult> order;
+        private final int capacity;
+        private final Set<SearchResultDedup.FlightKey> served;
+        private final PriorityQueue<FlightSearchResult> heap;
+        private final Map<SearchResultDedup.FlightKey, FlightSearchResult> byFlight;
+
+        Candidates(Comparator<FlightSearchResult> order, int capacity, boolean dedup, Set<SearchResultDedup.FlightKey> served) {
+            this.order = order;
+            this.capacity = capacity;
+            this.served = served;
+            this.heap = new PriorityQueue<>(order.reversed());
+            this.byFlight = dedup ? new HashMap<>() : null;
+        }
+
+        void collect(List<FlightSearchResponse> responses, SearchCursor cursor) {
+            int servedRepeats = cursor == null ? 0 : cursor.repeats();
+            for (FlightSearchResponse response : responses) {
+                if (response == null || response.getResults() == null) {
+                    continue;
+                }
+                for (FlightSearchResult result : response.getResults()) {
+                    if (cursor != null) {
+                        int c = order.compare(result, cursor.last());
+                        if (c < 0 || (c == 0 && servedRepeats-- > 0)) {
+                            continue;
+                        }
+                    }
+                    offer(result);
+                }
+            }
+        }
+
+        private void offer(FlightSearchResult result) {
+            SearchResultDedup.FlightKey key = byFlight == null ? null : SearchResultDedup.FlightKey.of(result);
+            if (key != null) {
+                if (served.contains(key)) {
+                    return;
+                }
+                FlightSearchResult kept = byFlight.get(key);
+                if (kept != null) {
+                    if (order.compare(result, kept) < 0) {
+                        heap.remove(kept);
+                        heap.add(result);
+                        byFlight.put(key, result);
+                    }
+                    return;
+                }
+            }
+            if (heap.size() < capacity) {
+                add(key, result);
+            } else if (order.compare(result, heap.peek()) < 0) {
+                FlightSearchResult evicted = heap.poll();
+                if (byFlight != null) {
+                    SearchResultDedup.FlightKey evictedKey = SearchResultDedup.FlightKey.of(evicted);
+                    if (evictedKey != null) {
+                        byFlight.remove(evictedKey);
+                    }
+                }
+                add(key, result);
+            }
+        }
+
+        private void add(SearchResultDedup.FlightKey key, FlightSearchResult result) {
+            heap.add(result);
+            if (key != null) {
+                byFlight.put(key, result);
+            }
+        }
+
+        Set<SearchResultDedup.FlightKey> servedBefore(List<FlightSearchResponse> responses, SearchCursor cursor) {
+            Set<SearchResultDedup.FlightKey> found = new HashSet<>();
+            int servedRepeats = cursor.repeats();
+            for (FlightSearchResponse response : responses) {
+                if (response == null || response.getResults() == null) {
+                    continue;
+                }
+                for (FlightSearchResult result : response.getResults()) {
+                    int c = order.compare(result, cursor.last());
+                    if (c < 0 || (c == 0 && servedRepeats-- > 0)) {
+                        SearchResultDedup.FlightKey key = SearchResultDedup.FlightKey.of(result);
+                        if (key != null && byFlight.containsKey(key)) {
+                            found.add(key);
+                        }
+                    }
+                }
+            }
+            return found;
+        }
+
+        void addAlternatives(List<FlightSearchResponse> responses, List<FlightSearchResult> page) {
+            Map<SearchResultDedup.FlightKey, List<FlightSearchResult>> offers = new HashMap<>();
+            for (FlightSearchResult result : page) {
+                SearchResultDedup.FlightKey key = SearchResultDedup.FlightKey.of(result);
+                if (key != null) {
+                    offers.put(key, new ArrayList<>(2));
+                }
+            }
+            for (FlightSearchResponse response : responses) {
+                if (response == null || response.getResults() == null) {
+                    continue;
+                }
+                for (FlightSearchResult result : response.getResults()) {
+                    SearchResultDedup.FlightKey key = SearchResultDedup.FlightKey.of(result);
+                    List<FlightSearchResult> sameFlight = key == null ? null : offers.get(key);
+                    if (sameFlight != null) {
+                        sameFlight.add(result);
+                    }
+                }
+            }
+            for (int i = 0; i < page.size(); i++) {
+                SearchResultDedup.FlightKey key = SearchResultDedup.FlightKey.of(page.get(i));
+                List<FlightSearchResult> sameFlight = key == null ? null : offers.get(key);
+                if (sameFlight != null && sameFlight.size() > 1) {
+                    page.set(i, SearchResultDedup.withAlternatives(page.get(i), sameFlight));
+                }
+            }
+        }
+    }
+
+    private static SearchCursor nextCursor(FlightSearchSort sort, Comparator<FlightSearchResult> order, SearchCursor cursor,
+                                           List<FlightSearchResult> page) {
+        FlightSearchResult last = page.get(page.size() - 1);
+        int repeats = 1;
+        for (int i = page.size() - 2; i >= 0 && order.compare(page.get(i), last) == 0; i--) {
+            repeats++;
+        }
+        if (cursor != null && order.compare(cursor.last(), last) == 0) {
+            repeats += cursor.repeats();
+        }
+        return new SearchCursor(sort, last, repeats);
+    }
+
+    static Comparator<FlightSearchResult> order(FlightSearchSort sort) {
+        return (a, b) -> {
+            int c = switch (sort) {
+                case FARE -> compare(a.getFare(), b.getFare());
+                case DEPARTURE_TIME -> compare(a.getDepartureTime(), b.getDepartureTime());
+                case DURATION -> compareDuration(a, b);
+            };
+            if (c != 0) {
+                return c;
+            }
+            if ((c = compare(a.getDepartureTime(), b.getDepartureTime())) != 0
+                    || (c = compare(a.getArrivalTime(), b.getArrivalTime())) != 0
+                    || (c = compare(a.getFare(), b.getFare())) != 0
+                    || (c = compare(a.getAirline(), b.getAirline())) != 0
+                    || (c = compare(a.getSupplier(), b.getSupplier())) != 0
+                    || (c = compare(a.getDepartureAirport(), b.getDepartureAirport())) != 0) {
+                return c;
+            }
+            return compare(a.getDestinationAirport(), b.getDestinationAirport());
+        };
+    }
+
+    // nulls last
+    private static <T extends Comparable<? super T>> int compare(T a, T b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? 1 : -1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static int compare(ZonedDateTime a, ZonedDateTime b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? 1 : -1;
+        }
+        int c = Long.compare(a.toEpochSecond(), b.toEpochSecond());
+        return c != 0 ? c : Integer.compare(a.getNano(), b.getNano());
+    }
+
+    private static int compareDuration(FlightSearchResult a, FlightSearchResult b) {
+        boolean aKnown = a.getDepartureTime() != null && a.getArrivalTime() != null;
+        boolean bKnown = b.getDepartureTime() != null && b.getArrivalTime() != null;
+        if (!aKnown || !bKnown) {
+            return aKnown == bKnown ? 0 : aKnown ? -1 : 1;
+        }
+        return Long.compare(durationSeconds(a), durationSeconds(b));
+    }
+
+    private static long durationSeconds(FlightSearchResult result) {
+        return result.getArrivalTime().toEpochSecond() - result.getDepartureTime().toEpochSecond();
+    }
+}
@@ -0,0 +1,100 @@
+package app.fdm.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+
+final class SupplierTimeZone {
+
+    private static final long FIRST_CACHED_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final int CACHED_DAYS = (int) (LocalDate.of(2100, 1, 1).toEpochDay() - FIRST_CACHED_DAY);
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    // filled on first use, a racy fill writes equal values
+    private final ZonedDateTime[] dayStarts = new ZonedDateTime[CACHED_DAYS];
+    private final String[] dates = new String[CACHED_DAYS];
+
+    SupplierTimeZone(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+    }
+
+    ZonedDateTime startOfDay(String localDate) {
+        long day = parseEpochDay(localDate);
+        long slot = day - FIRST_CACHED_DAY;
+        if (slot < 0 || slot >= CACHED_DAYS) {
+            return computeStartOfDay(day);
+        }
+        ZonedDateTime start = dayStarts[(int) slot];
+        if (start == null) {
+            start = computeStartOfDay(day);
+            dayStarts[(int) slot] = start;
+        }
+        return start;
+    }
+
+    String localDate(ZonedDateTime time) {
+        int offset = rules.getOffset(time.toInstant()).getTotalSeconds();
+        long day = Math.floorDiv(time.toEpochSecond() + offset, 86_400L);
+        long slot = day - FIRST_CACHED_DAY;
+        if (slot < 0 || slot >= CACHED_DAYS) {
+            return LocalDate.ofEpochDay(day).toString();
+        }
+        String date = dates[(int) slot];
+        if (date == null) {
+            date = LocalDate.ofEpochDay(day).toString();
+            dates[(int) slot] = date;
+        }
+        return date;
+    }
+
+    private ZonedDateTime computeStartOfDay(long day) {
+        return LocalDate.ofEpochDay(day).atStartOfDay(zone).withZoneSameInstant(ZoneOffset.UTC);
+    }
+
+    static long parseEpochDay(String text) {
+        if (text == null || text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return LocalDate.parse(text).toEpochDay();
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > monthLength(year, month)) {
+            return LocalDate.parse(text).toEpochDay();
+        }
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int monthLength(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
@@ -0,0 +1,8 @@
+package app.fdm.service;
+
+public class SupplierUnavailableException extends RuntimeException {
+
+    public SupplierUnavailableException(String message) {
+        super(message);
+    }
+}
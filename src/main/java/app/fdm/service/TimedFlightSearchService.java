@@ -0,0 +1,76 @@
+package app.fdm.service;
+
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TimedFlightSearchService implements ReactiveFlightSearchService {
+
+    private final ReactiveFlightSearchService delegate;
+    private final FlightSearchMetrics metrics;
+
+    public TimedFlightSearchService(ReactiveFlightSearchService delegate, FlightSearchMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<FlightSearchResponse> findFlightsAsync(FlightSearchRequest flightSearchRequest) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.findFlightsAsync(flightSearchRequest)
+                    .doOnSuccess(r -> metrics.recordSearch(getName(), System.nanoTime() - start, "success",
+                            r == null || r.getResults() == null ? 0 : r.getResults().size()))
+                    .doOnError(e -> metrics.recordSearch(getName(), System.nanoTime() - start, "error", 0))
+                    .doOnCancel(() -> metrics.recordSearch(getName(), System.nanoTime() - start, "cancelled", 0));
+        });
+    }
+
+    @Override
+    public Flux<FlightSearchResult> streamFlights(FlightSearchRequest flightSearchRequest) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicInteger results = new AtomicInteger();
+            return delegate.streamFlights(flightSearchRequest)
+                    .doOnNext(r -> results.incrementAndGet())
+                    .doOnComplete(() -> metrics.recordSearch(getName(), System.nanoTime() - start, "success", results.get()))
+                    .doOnError(e -> metrics.recordSearch(getName(), System.nanoTime() - start, "error", 0))
+                    .doOnCancel(() -> metrics.recordSearch(getName(), System.nanoTime() - start, "cancelled", results.get()));
+        });
+    }
+
+    @Override
+    public Mono<List<FlightSearchResponse>> findFlightsBatchAsync(List<FlightSearchRequest> flightSearchRequests) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.findFlightsBatchAsync(flightSearchRequests)
+                    .doOnSuccess(r -> metrics.recordBatch(getName(), System.nanoTime() - start, "success", flightSearchRequests.size()))
+                    .doOnError(e -> metrics.recordBatch(getName(), System.nanoTime() - start, "error", flightSearchRequests.size()))
+                    .doOnCancel(() -> metrics.recordBatch(getName(), System.nanoTime() - start, "cancelled", flightSearchRequests.size()));
+        });
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> findLowestFaresAsync(FareCalendarRequest calendar) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            int days = FareCalendar.days(calendar).size();
+            return delegate.findLowestFaresAsync(calendar)
+                    .doOnSuccess(r -> metrics.recordBatch(getName(), System.nanoTime() - start, "success", days))
+                    .doOnError(e -> metrics.recordBatch(getName(), System.nanoTime() - start, "error", days))
+                    .doOnCancel(() -> metrics.recordBatch(getName(), System.nanoTime() - start, "cancelled", days));
+        });
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
@@ -0,0 +1,47 @@
+package app.fdm.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class ValueDictionary<T> {
+
+    static final int NONE = -1;
+
+    private final Map<T, Integer> ids = new ConcurrentHashMap<>();
+    private volatile Object[] values = new Object[16];
+    private int size;
+
+    int idOf(T value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : add(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    T valueOf(int id) {
+        return id == NONE ? null : (T) values[id];
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    private synchronized int add(T value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        Object[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        // published only after the slot is written
+        ids.put(value, size);
+        return size++;
+    }
+}
@@ -1,7 +1,10 @@
 package app.fdm.api;
 
+import app.fdm.dto.BulkFlightResponse;
 import app.fdm.dto.Flight;
+import app.fdm.service.FlightImportService;
 import app.fdm.service.FlightService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,8 +13,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
+import java.util.Iterator;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,14 +29,21 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class FlightControllerTest {
 
+    private static final String FLIGHT_JSON = "{\"airline\":\"Test Airline\",\"supplier\":\"Test Supplier\",\"fare\":199.99,"
+            + "\"departureAirport\":\"JFK\",\"destinationAirport\":\"LAX\","
+            + "\"departureTime\":\"2025-06-22T10:00:00Z\",\"arrivalTime\":\"2025-06-22T15:00:00Z\"}";
+
     @Mock
     private FlightService flightService;
 
+    @Mock
+    private FlightImportService flightImportService;
+
     private FlightController flightController;
 
     @BeforeEach
     void setUp() {
-        flightController = new FlightController(flightService);
+        flightController = new FlightController(flightService, flightImportService, new ObjectMapper().findAndRegisterModules());
     }
 
     @Test
@@ -79,6 +93,21 @@ class FlightControllerTest {
         verify(flightService).saveFlight(inputFlight);
     }
 
+    @Test
+    void createFlight_WithAirportOutsideReferenceTable_ShouldStillBeAccepted() {
+        // Arrange
+        Flight inputFlight = createSampleFlight();
+        inputFlight.setDestinationAirport("BZN");
+        when(flightService.saveFlight(any(Flight.class))).thenReturn(inputFlight);
+
+        // Act
+        ResponseEntity<Flight> response = flightController.createFlight(inputFlight);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(flightService).saveFlight(inputFlight);
+    }
+
     @Test
     void updateFlight_WhenFlightExists_ShouldReturnUpdatedFlight() {
         // Arrange
@@ -126,6 +155,63 @@ class FlightControllerTest {
         verify(flightService).deleteFlight(flightId);
     }
 
+    @Test
+    void createFlights_WithJsonArray_ShouldPassEveryRowToService() throws Exception {
+        // Arrange
+        String body = "[" + FLIGHT_JSON + "," + FLIGHT_JSON + "]";
+        when(flightService.saveFlights(any(), any())).thenAnswer(inv -> countRows(inv.getArgument(0)));
+
+        // Act
+        ResponseEntity<BulkFlightResponse> response = flightController.createFlights(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().getReceived());
+    }
+
+    @Test
+    void createFlights_WithNdjson_ShouldPassEveryRowToService() throws Exception {
+        // Arrange
+        String body = FLIGHT_JSON + "\n" + FLIGHT_JSON + "\n" + FLIGHT_JSON + "\n";
+        when(flightService.saveFlights(any(), any())).thenAnswer(inv -> countRows(inv.getArgument(0)));
+
+        // Act
+        ResponseEntity<BulkFlightResponse> response = flightController.createFlights(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(3, response.getBody().getReceived());
+    }
+
+    @Test
+    void importFlights_WithCsv_ShouldImportAsCsv() throws Exception {
+        // Arrange
+        InputStream body = new ByteArrayInputStream("airline\n".getBytes(StandardCharsets.UTF_8));
+        when(flightImportService.importFlights(eq(body), eq(FlightImportService.Format.CSV), any())).thenReturn(new BulkFlightResponse());
+
+        // Act
+        ResponseEntity<BulkFlightResponse> response = flightController.importFlights("text/csv; charset=UTF-8", body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(flightImportService).importFlights(eq(body), eq(FlightImportService.Format.CSV), any());
+    }
+
+    private static BulkFlightResponse countRows(Iterator<Flight> flights) {
+        BulkFlightResponse response = new BulkFlightResponse();
+        int rows = 0;
+        while (flights.hasNext()) {
+            assertEquals("JFK", flights.next().getDepartureAirport());
+            rows++;
+        }
+        response.setReceived(rows);
+        return response;
+    }
+
     private Flight createSampleFlight() {
         Flight flight = new Flight();
         flight.setId(1L);
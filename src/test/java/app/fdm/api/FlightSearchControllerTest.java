@@ -1,25 +1,39 @@
 
 package app.fdm.api;
 
+import app.fdm.dto.BatchFlightSearchRequest;
+import app.fdm.dto.BatchFlightSearchResponse;
+import app.fdm.dto.BatchFlightSearchResult;
+import app.fdm.dto.FareCalendarDay;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
 import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
 import app.fdm.service.CombinedFlightSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +46,7 @@ class FlightSearchControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new FlightSearchController(searchService);
+        controller = new FlightSearchController(searchService, 100, 62, 500);
     }
 
     @Test
@@ -42,41 +56,41 @@ class FlightSearchControllerTest {
         String arrivalTime = "2025-06-22T15:00:00Z";
 
         FlightSearchResponse mockResponse = createMockResponse();
-        when(searchService.findFlights(any(FlightSearchRequest.class))).thenReturn(mockResponse);
+        when(searchService.findFlightsAsync(any(FlightSearchRequest.class))).thenReturn(Mono.just(mockResponse));
 
         // Act
         ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
-                "JFK",  "LAX", "TestAirline", departureTime, arrivalTime);
+                "JFK", "LAX", "TestAirline", departureTime, arrivalTime, null, null, null, false).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getResults().size());
 
-        verify(searchService).findFlights(any(FlightSearchRequest.class));
+        verify(searchService).findFlightsAsync(any(FlightSearchRequest.class));
     }
 
     @Test
     void searchFlights_WithNoParameters_ShouldReturnFlights() {
         // Arrange
         FlightSearchResponse mockResponse = createMockResponse();
-        when(searchService.findFlights(any(FlightSearchRequest.class))).thenReturn(mockResponse);
+        when(searchService.findFlightsAsync(any(FlightSearchRequest.class))).thenReturn(Mono.just(mockResponse));
 
         // Act
         ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
-                "JFK", "LAX", null, null, null);
+                "JFK", "LAX", null, null, null, null, null, null, false).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(searchService).findFlights(any(FlightSearchRequest.class));
+        verify(searchService).findFlightsAsync(any(FlightSearchRequest.class));
     }
 
     @Test
     void searchFlights_WithInvalidDateTime_ShouldReturnBadRequest() {
         // Act
         ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
-                "JFK", "LAX", "TestAirline", "invalid-date", "invalid-date");
+                "JFK", "LAX", "TestAirline", "invalid-date", "invalid-date", null, null, null, false).block();
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -88,16 +102,16 @@ class FlightSearchControllerTest {
         // Arrange
         String departureTime = "2025-06-22T10:00:00Z";
         FlightSearchResponse mockResponse = createMockResponse();
-        when(searchService.findFlights(any(FlightSearchRequest.class))).thenReturn(mockResponse);
+        when(searchService.findFlightsAsync(any(FlightSearchRequest.class))).thenReturn(Mono.just(mockResponse));
 
         // Act
         ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
-                "JFK", "LAX", null, departureTime, null);
+                "JFK", "LAX", null, departureTime, null, null, null, null, false).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(searchService).findFlights(any(FlightSearchRequest.class));
+        verify(searchService).findFlightsAsync(any(FlightSearchRequest.class));
     }
 
     @Test
@@ -105,16 +119,262 @@ class FlightSearchControllerTest {
         // Arrange
         String arrivalTime = "2025-06-22T15:00:00Z";
         FlightSearchResponse mockResponse = createMockResponse();
-        when(searchService.findFlights(any(FlightSearchRequest.class))).thenReturn(mockResponse);
+        when(searchService.findFlightsAsync(any(FlightSearchRequest.class))).thenReturn(Mono.just(mockResponse));
 
         // Act
         ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
-                "JFK", "LAX", null, null, arrivalTime);
+                "JFK", "LAX", null, null, arrivalTime, null, null, null, false).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(searchService).findFlights(any(FlightSearchRequest.class));
+        verify(searchService).findFlightsAsync(any(FlightSearchRequest.class));
+    }
+
+    @Test
+    void searchFlights_WithSortAndLimit_ShouldPassThemToSearch() {
+        // Arrange
+        when(searchService.findFlightsAsync(any(FlightSearchRequest.class))).thenReturn(Mono.just(createMockResponse()));
+
+        // Act
+        ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
+                "JFK", "LAX", null, null, null, "departureTime", 20, null, false).block();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ArgumentCaptor<FlightSearchRequest> sent = ArgumentCaptor.forClass(FlightSearchRequest.class);
+        verify(searchService).findFlightsAsync(sent.capture());
+        assertEquals(FlightSearchSort.DEPARTURE_TIME, sent.getValue().getSort());
+        assertEquals(20, sent.getValue().getLimit());
+    }
+
+    @Test
+    void searchFlights_WithUnknownSort_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
+                "JFK", "LAX", null, null, null, "price", 20, null, false).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFlights_WithLimitAboveMaximum_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
+                "JFK", "LAX", null, null, null, "fare", 501, null, false).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void searchFlights_WithInvalidCursor_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<FlightSearchResponse> response = controller.searchFlights(
+                "JFK", "LAX", null, null, null, "fare", 20, "garbage", false).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void streamFlights_WithValidParameters_ShouldStreamFlights() {
+        // Arrange
+        FlightSearchResponse mockResponse = createMockResponse();
+        when(searchService.streamFlights(any(FlightSearchRequest.class)))
+                .thenReturn(Flux.fromIterable(mockResponse.getResults()));
+
+        // Act
+        ResponseEntity<Flux<FlightSearchResult>> response = controller.streamFlights(
+                "JFK", "LAX", null, "2025-06-22T10:00:00Z", null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().collectList().block().size());
+        verify(searchService).streamFlights(any(FlightSearchRequest.class));
+    }
+
+    @Test
+    void streamFlights_WithInvalidDateTime_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<Flux<FlightSearchResult>> response = controller.streamFlights(
+                "JFK", "LAX", null, "invalid-date", null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void searchFlightsBatch_WithValidSearches_ShouldReturnResultsPerSearch() {
+        // Arrange
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        batch.setSearches(List.of(searchRequest("JFK", "LAX"), searchRequest("LAX", "JFK")));
+        when(searchService.findFlightsBatchAsync(batch.getSearches()))
+                .thenReturn(Mono.just(List.of(createMockResponse(), new FlightSearchResponse(List.of()))));
+
+        // Act
+        ResponseEntity<BatchFlightSearchResponse> response = controller.searchFlightsBatch(batch).block();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<BatchFlightSearchResult> results = response.getBody().getResults();
+        assertEquals(2, results.size());
+        assertEquals("JFK", results.get(0).getSearch().getFrom());
+        assertEquals(1, results.get(0).getResults().size());
+        assertEquals("LAX", results.get(1).getSearch().getFrom());
+        assertTrue(results.get(1).getResults().isEmpty());
+    }
+
+    @Test
+    void searchFlightsBatch_WithLimitedSearch_ShouldReturnItsNextCursor() {
+        // Arrange
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        FlightSearchRequest limited = searchRequest("JFK", "LAX");
+        limited.setLimit(1);
+        batch.setSearches(List.of(limited, searchRequest("LAX", "JFK")));
+        FlightSearchResponse firstPage = createMockResponse();
+        firstPage.setNextCursor("next-page");
+        when(searchService.findFlightsBatchAsync(batch.getSearches()))
+                .thenReturn(Mono.just(List.of(firstPage, new FlightSearchResponse(List.of()))));
+
+        // Act
+        ResponseEntity<BatchFlightSearchResponse> response = controller.searchFlightsBatch(batch).block();
+
+        // Assert
+        List<BatchFlightSearchResult> results = response.getBody().getResults();
+        assertEquals("next-page", results.get(0).getNextCursor());
+        assertNull(results.get(1).getNextCursor());
+    }
+
+    @Test
+    void searchFlightsBatch_WithInvalidAirport_ShouldThrowBadRequest() {
+        // Arrange
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        batch.setSearches(List.of(searchRequest("JFK", "LAX"), searchRequest("JFK", "nope")));
+
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.searchFlightsBatch(batch));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFlightsBatch_WithUnknownAirport_ShouldRejectBeforeSearching() {
+        // Arrange
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        batch.setSearches(List.of(searchRequest("JFK", "LAX"), searchRequest("ZZZ", "LAX")));
+
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.searchFlightsBatch(batch));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertTrue(e.getReason().contains("not a known airport"));
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFlightsBatch_WithNullSearch_ShouldReturnBadRequest() {
+        // Arrange
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        batch.setSearches(Arrays.asList(searchRequest("JFK", "LAX"), null));
+
+        // Act
+        ResponseEntity<BatchFlightSearchResponse> response = controller.searchFlightsBatch(batch).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFlightsBatch_WithoutSearches_ShouldReturnBadRequest() {
+        // Arrange
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        batch.setSearches(null);
+
+        // Act
+        ResponseEntity<BatchFlightSearchResponse> response = controller.searchFlightsBatch(batch).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFlightsBatch_WithTooManySearches_ShouldReturnBadRequest() {
+        // Arrange
+        controller = new FlightSearchController(searchService, 1, 62, 500);
+        BatchFlightSearchRequest batch = new BatchFlightSearchRequest();
+        batch.setSearches(List.of(searchRequest("JFK", "LAX"), searchRequest("LAX", "JFK")));
+
+        // Act
+        ResponseEntity<BatchFlightSearchResponse> response = controller.searchFlightsBatch(batch).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFlightsBatch_WithNoSearches_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<BatchFlightSearchResponse> response = controller.searchFlightsBatch(new BatchFlightSearchRequest()).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void searchFareCalendar_WithValidRange_ShouldReturnCalendar() {
+        // Arrange
+        FareCalendarResponse calendar = new FareCalendarResponse("JFK", "LAX", List.of(
+                new FareCalendarDay(LocalDate.parse("2025-06-22"), new BigDecimal("199.99"))));
+        when(searchService.findLowestFaresAsync(any(FareCalendarRequest.class))).thenReturn(Mono.just(calendar));
+
+        // Act
+        ResponseEntity<FareCalendarResponse> response = controller.searchFareCalendar(
+                "JFK", "LAX", "2025-06-22", "2025-06-22", null).block();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getDays().size());
+    }
+
+    @Test
+    void searchFareCalendar_WithTooLongRange_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<FareCalendarResponse> response = controller.searchFareCalendar(
+                "JFK", "LAX", "2025-01-01", "2025-12-31", null).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchFareCalendar_WithEndBeforeStart_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<FareCalendarResponse> response = controller.searchFareCalendar(
+                "JFK", "LAX", "2025-06-22", "2025-06-21", null).block();
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static FlightSearchRequest searchRequest(String from, String to) {
+        FlightSearchRequest req = new FlightSearchRequest();
+        req.setFrom(from);
+        req.setTo(to);
+        return req;
     }
 
     private FlightSearchResponse createMockResponse() {
@@ -0,0 +1,86 @@
+package app.fdm.api;
+
+import app.fdm.dto.ItinerarySearchRequest;
+import app.fdm.dto.ItinerarySearchResponse;
+import app.fdm.service.ItinerarySearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItinerarySearchControllerTest {
+
+    @Mock
+    private ItinerarySearchService itinerarySearchService;
+
+    private ItinerarySearchController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ItinerarySearchController(itinerarySearchService, 50);
+    }
+
+    @Test
+    void searchItineraries_ShouldPassRequestToService() {
+        // Arrange
+        when(itinerarySearchService.isAvailable()).thenReturn(true);
+        when(itinerarySearchService.findItineraries(any())).thenReturn(new ItinerarySearchResponse("JFK", "HNL", List.of()));
+
+        // Act
+        ResponseEntity<ItinerarySearchResponse> response = controller.searchItineraries(
+                "JFK", "HNL", "2025-06-22T06:00:00Z", null, 2, 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ArgumentCaptor<ItinerarySearchRequest> sent = ArgumentCaptor.forClass(ItinerarySearchRequest.class);
+        verify(itinerarySearchService).findItineraries(sent.capture());
+        assertEquals(ZonedDateTime.parse("2025-06-22T06:00:00Z"), sent.getValue().getDepartureTime());
+        assertEquals(2, sent.getValue().getMaxStops());
+        assertEquals(5, sent.getValue().getLimit());
+    }
+
+    @Test
+    void searchItineraries_WithTooManyStopsOrResults_ShouldReturnBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchItineraries("JFK", "HNL", "2025-06-22T06:00:00Z", null, 3, 5).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchItineraries("JFK", "HNL", "2025-06-22T06:00:00Z", null, 1, 51).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchItineraries("JFK", "jfk", "2025-06-22T06:00:00Z", null, 1, 5).getStatusCode());
+        verifyNoInteractions(itinerarySearchService);
+    }
+
+    @Test
+    void searchItineraries_WithUnknownAirport_ShouldThrowBadRequest() {
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> controller.searchItineraries("JFK", "ZZZ", "2025-06-22T06:00:00Z", null, 1, 5));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(itinerarySearchService);
+    }
+
+    @Test
+    void searchItineraries_WhenIndexDisabled_ShouldReturnServiceUnavailable() {
+        // Arrange
+        when(itinerarySearchService.isAvailable()).thenReturn(false);
+
+        // Act
+        ResponseEntity<ItinerarySearchResponse> response = controller.searchItineraries(
+                "JFK", "HNL", "2025-06-22T06:00:00Z", null, 1, 5);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        verify(itinerarySearchService, never()).findItineraries(any());
+    }
+}
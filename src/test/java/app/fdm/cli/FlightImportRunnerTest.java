@@ -0,0 +1,58 @@
+package app.fdm.cli;
+
+import app.fdm.dto.BulkFlightResponse;
+import app.fdm.service.FlightImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightImportRunnerTest {
+
+    @Mock
+    private FlightImportService flightImportService;
+
+    @InjectMocks
+    private FlightImportRunner runner;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void run_WithImportExit_ShouldImportFileAndRequestExit() throws Exception {
+        // Arrange
+        Path file = Files.writeString(dir.resolve("schedule.ndjson"), "{}\n");
+        when(flightImportService.importFlights(any(), eq(FlightImportService.Format.NDJSON), any()))
+                .thenReturn(new BulkFlightResponse());
+
+        // Act
+        runner.run(new DefaultApplicationArguments("--import=" + file, "--import-exit"));
+
+        // Assert
+        verify(flightImportService).importFlights(any(), eq(FlightImportService.Format.NDJSON), any());
+        assertTrue(runner.isExitRequested());
+        assertEquals(0, runner.getExitCode());
+    }
+
+    @Test
+    void run_WithoutImport_ShouldNeitherImportNorRequestExit() throws Exception {
+        // Act
+        runner.run(new DefaultApplicationArguments("--import-exit"));
+
+        // Assert
+        verifyNoInteractions(flightImportService);
+        assertFalse(runner.isExitRequested());
+    }
+}
@@ -0,0 +1,88 @@
+package app.fdm.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplierHttpClientFactoryTest {
+
+    private HttpServer server;
+
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+
+    private final List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+
+    private SupplierHttpClientFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/flights", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = gzip("[{\"carrier\":\"TestCarrier\"}]");
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        SupplierHttpClientProperties.Client defaults = new SupplierHttpClientProperties.Client(10, 100,
+                Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                Duration.ofSeconds(15), Duration.ofSeconds(1), Duration.ofSeconds(3),
+                true, true, true, DataSize.ofMegabytes(1), false);
+        factory = new SupplierHttpClientFactory(WebClient.builder(), new SupplierHttpClientProperties(defaults, Map.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void create_ShouldReuseConnectionsAndDecompressResponses() throws InterruptedException {
+        // Arrange
+        WebClient webClient = factory.create("TestSupplier", "http://localhost:" + server.getAddress().getPort());
+
+        // Act
+        String first = webClient.get().uri("/flights").retrieve().bodyToMono(String.class).block();
+        // released just after the body completed
+        Thread.sleep(200);
+        String second = webClient.get().uri("/flights").retrieve().bodyToMono(String.class).block();
+
+        // Assert
+        assertEquals("[{\"carrier\":\"TestCarrier\"}]", first);
+        assertEquals(first, second);
+        assertEquals(2, clientPorts.size());
+        assertEquals(clientPorts.get(0), clientPorts.get(1), "second call should reuse the pooled connection");
+        assertTrue(acceptEncodings.get(0).contains("gzip"));
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,82 @@
+package app.fdm.repository;
+
+import app.fdm.repository.model.FlightEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class FlightRepositoryTest {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.saveAll(List.of(
+                createFlight("Delta", "JFK", "LAX", "2025-06-22T08:00:00Z", "250.00"),
+                createFlight("United", "JFK", "LAX", "2025-06-22T18:00:00Z", "180.00"),
+                // still the 22nd in UTC
+                createFlight("Delta", "JFK", "LAX", "2025-06-23T01:00:00+02:00", "150.00"),
+                createFlight("Delta", "JFK", "LAX", "2025-06-23T10:00:00Z", "300.00"),
+                createFlight("Delta", "jfk", "lax", "2025-06-25T08:00:00Z", "120.00"),
+                createFlight("Delta", "JFK", "SFO", "2025-06-22T08:00:00Z", "50.00")));
+    }
+
+    @Test
+    void findLowestFarePerDay_ShouldReturnCheapestFarePerUtcDepartureDay() {
+        // Act
+        List<DailyLowestFare> days = flightRepository.findLowestFarePerDay("JFK", "LAX",
+                ZonedDateTime.parse("2025-06-21T00:00:00Z"), ZonedDateTime.parse("2025-06-26T00:00:00Z"), null);
+
+        // Assert
+        assertEquals(List.of(LocalDate.parse("2025-06-22"), LocalDate.parse("2025-06-23"), LocalDate.parse("2025-06-25")),
+                days.stream().map(DailyLowestFare::getDay).toList());
+        assertEquals(0, new BigDecimal("150.00").compareTo(days.get(0).getLowestFare()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(days.get(1).getLowestFare()));
+    }
+
+    @Test
+    void findLowestFarePerDay_WithAirline_ShouldIgnoreOtherAirlines() {
+        // Act
+        List<DailyLowestFare> days = flightRepository.findLowestFarePerDay("JFK", "LAX",
+                ZonedDateTime.parse("2025-06-22T00:00:00Z"), ZonedDateTime.parse("2025-06-23T00:00:00Z"), "DELTA");
+
+        // Assert
+        assertEquals(1, days.size());
+        assertEquals(0, new BigDecimal("150.00").compareTo(days.get(0).getLowestFare()));
+    }
+
+    @Test
+    void findByIdGreaterThanOrderByIdAsc_ShouldReturnNextPageInIdOrder() {
+        // Arrange
+        List<Long> ids = flightRepository.findAll().stream().map(FlightEntity::getId).sorted().toList();
+
+        // Act
+        List<FlightEntity> page = flightRepository.findByIdGreaterThanOrderByIdAsc(ids.get(1), Limit.of(3));
+
+        // Assert
+        assertEquals(ids.subList(2, 5), page.stream().map(FlightEntity::getId).toList());
+    }
+
+    private FlightEntity createFlight(String airline, String from, String to, String departureTime, String fare) {
+        FlightEntity entity = new FlightEntity();
+        entity.setAirline(airline);
+        entity.setSupplier("Sample Supplier");
+        entity.setFare(new BigDecimal(fare));
+        entity.setDepartureAirport(from);
+        entity.setDestinationAirport(to);
+        entity.setDepartureTime(ZonedDateTime.parse(departureTime));
+        entity.setArrivalTime(ZonedDateTime.parse(departureTime).plusHours(5));
+        return entity;
+    }
+}
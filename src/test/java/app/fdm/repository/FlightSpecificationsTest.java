@@ -0,0 +1,115 @@
+package app.fdm.repository;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.repository.model.FlightEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class FlightSpecificationsTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-22T00:00:00Z");
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.saveAll(List.of(
+                createFlight("Delta", "JFK", "LAX", 2),
+                createFlight("United", "JFK", "LAX", 6),
+                createFlight("Delta", "JFK", "LAX", 10),
+                createFlight("Delta", "JFK", "SFO", 6)));
+    }
+
+    @Test
+    void matching_WithRouteOnly_ShouldReturnRoute() {
+        // Act
+        List<FlightEntity> flights = flightRepository.findAll(FlightSpecifications.matching(createSearchRequest()));
+
+        // Assert
+        assertEquals(3, flights.size());
+    }
+
+    @Test
+    void matching_WithLowerCaseRoute_ShouldMatchLikeRouteIndex() {
+        // Arrange
+        FlightSearchRequest request = createSearchRequest();
+        request.setFrom("jfk");
+        request.setTo(" lax ");
+
+        // Act
+        List<FlightEntity> flights = flightRepository.findAll(FlightSpecifications.matching(request));
+
+        // Assert
+        assertEquals(3, flights.size());
+    }
+
+    @Test
+    void matching_WhenRouteStoredLowerCase_ShouldStillMatch() {
+        // Arrange
+        flightRepository.save(createFlight("Delta", "jfk", "lax", 4));
+
+        // Act
+        List<FlightEntity> flights = flightRepository.findAll(FlightSpecifications.matching(createSearchRequest()));
+
+        // Assert
+        assertEquals(4, flights.size());
+    }
+
+    @Test
+    void matching_WithAirline_ShouldIgnoreCase() {
+        // Arrange
+        FlightSearchRequest request = createSearchRequest();
+        request.setAirline("delta");
+
+        // Act
+        List<FlightEntity> flights = flightRepository.findAll(FlightSpecifications.matching(request));
+
+        // Assert
+        assertEquals(2, flights.size());
+        assertTrue(flights.stream().allMatch(f -> f.getAirline().equals("Delta")));
+    }
+
+    @Test
+    void matching_WithTimeWindow_ShouldReturnFlightsInsideWindow() {
+        // Arrange
+        FlightSearchRequest request = createSearchRequest();
+        request.setDepartureTime(BASE.plusHours(2));
+        request.setArrivalTime(BASE.plusHours(11));
+
+        // Act
+        List<FlightEntity> flights = flightRepository.findAll(FlightSpecifications.matching(request));
+
+        // Assert
+        assertEquals(2, flights.size());
+        assertTrue(flights.stream().noneMatch(f -> f.getDepartureTime().isAfter(BASE.plusHours(6))));
+    }
+
+    private FlightSearchRequest createSearchRequest() {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+        return request;
+    }
+
+    private FlightEntity createFlight(String airline, String from, String to, int departureHour) {
+        FlightEntity entity = new FlightEntity();
+        entity.setAirline(airline);
+        entity.setSupplier("Sample Supplier");
+        entity.setFare(new BigDecimal("199.99"));
+        entity.setDepartureAirport(from);
+        entity.setDestinationAirport(to);
+        entity.setDepartureTime(BASE.plusHours(departureHour));
+        entity.setArrivalTime(BASE.plusHours(departureHour + 5));
+        return entity;
+    }
+}
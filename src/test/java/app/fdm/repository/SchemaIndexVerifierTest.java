@@ -0,0 +1,44 @@
+package app.fdm.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class SchemaIndexVerifierTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void findMissingIndexes_WhenSchemaGenerated_ShouldFindAllIndexes() {
+        // Arrange
+        SchemaIndexVerifier verifier = new SchemaIndexVerifier(dataSource, true);
+
+        assertTrue(verifier.findMissingIndexes().isEmpty());
+        assertDoesNotThrow(verifier::onReady);
+    }
+
+    @Test
+    void findMissingIndexes_WhenIndexDropped_ShouldReportIt() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop index idx_flight_route_search");
+        SchemaIndexVerifier verifier = new SchemaIndexVerifier(dataSource, true);
+
+        try {
+            assertEquals(List.of("idx_flight_route_search"), verifier.findMissingIndexes());
+            assertThrows(IllegalStateException.class, verifier::onReady);
+        } finally {
+            // DDL is not rolled back with the test transaction
+            jdbcTemplate.execute("create index idx_flight_route_search on flight_entity (departure_airport, destination_airport, "
+                    + "departure_time, arrival_time, airline, fare, supplier)");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package app.fdm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirportsTest {
+
+    @Test
+    void find_WithKnownCode_ShouldReturnReferenceData() {
+        // Act
+        Airports.Airport jfk = Airports.find("JFK");
+
+        // Assert
+        assertNotNull(jfk);
+        assertEquals(ZoneId.of("America/New_York"), jfk.timeZone());
+        assertEquals(40.64, jfk.latitude(), 0.01);
+        assertEquals(-73.78, jfk.longitude(), 0.01);
+        assertTrue(Airports.isKnown("LAX"));
+    }
+
+    @Test
+    void isKnown_WithUnknownOrMalformedCode_ShouldReturnFalse() {
+        assertFalse(Airports.isKnown("ZZZ"));
+        assertFalse(Airports.isKnown("JF1"));
+        assertFalse(Airports.isKnown("JFKX"));
+        assertFalse(Airports.isKnown(null));
+    }
+
+    @Test
+    void intern_ShouldReturnSameUpperCaseInstanceForAnyCase() {
+        // Act
+        String lower = Airports.intern("jfk");
+        String mixed = Airports.intern("JfK");
+
+        // Assert
+        assertEquals("JFK", lower);
+        assertSame(lower, mixed);
+        assertNull(Airports.intern("ZZZ"));
+    }
+
+    @Test
+    void pack_ShouldMapEveryLetterTripleToDistinctSlot() {
+        assertEquals(0, Airports.pack("AAA"));
+        assertEquals(26 * 26 * 26 - 1, Airports.pack("zzz"));
+        assertEquals(Airports.pack("JFK"), Airports.pack("jfk"));
+        assertEquals(Airports.NONE, Airports.pack("J-K"));
+        assertEquals(Airports.NONE, Airports.pack("JÉK"));
+    }
+
+    @Test
+    void load_ShouldReadBundledFile() {
+        assertTrue(Airports.count() > 300);
+    }
+
+    @Test
+    void load_WhenResourceMissing_ShouldThrow() {
+        assertThrows(IllegalStateException.class, () -> Airports.load("/missing-airports.csv"));
+    }
+}
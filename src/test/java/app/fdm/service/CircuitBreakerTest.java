@@ -0,0 +1,120 @@
+package app.fdm.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("CrazySupplier", 0.5, 10, 4, Duration.ofSeconds(10), 2, clock::get);
+    }
+
+    @Test
+    void onFailure_WhenFailureRateReachesThreshold_ShouldOpen() {
+        // Arrange
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_WhenBelowMinimumCalls_ShouldStayClosed() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void tryAcquirePermission_AfterOpenDuration_ShouldAllowLimitedTrialCalls() {
+        // Arrange
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        boolean first = circuitBreaker.tryAcquirePermission();
+        boolean second = circuitBreaker.tryAcquirePermission();
+        boolean third = circuitBreaker.tryAcquirePermission();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void onSuccess_WhenAllTrialCallsSucceed_ShouldClose() {
+        // Arrange
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        // Act
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_WhenTrialCallFails_ShouldOpenAgain() {
+        // Arrange
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onIgnored_WhenTrialCallIsCancelled_ShouldReleaseTrialSlot() {
+        // Arrange
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        // Act
+        circuitBreaker.onIgnored();
+
+        // Assert
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
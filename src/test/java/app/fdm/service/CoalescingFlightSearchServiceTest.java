@@ -0,0 +1,164 @@
+package app.fdm.service;
+
+import app.fdm.config.FlightSearchCacheProperties;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingFlightSearchServiceTest {
+
+    @Mock
+    private ReactiveFlightSearchService source;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FlightSearchCache flightSearchCache;
+
+    private CoalescingFlightSearchService coalescing;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(source.getName()).thenReturn("CrazySupplier");
+        meterRegistry = new SimpleMeterRegistry();
+        flightSearchCache = new FlightSearchCache(new FlightSearchCacheProperties(Duration.ZERO, 0, Map.of()), meterRegistry);
+        coalescing = new CoalescingFlightSearchService(source, flightSearchCache, new FlightSearchMetrics(meterRegistry));
+    }
+
+    @Test
+    void findFlightsAsync_WhenIdenticalSearchesOverlap_ShouldCallSourceOnce() {
+        // Arrange
+        Sinks.One<FlightSearchResponse> upstream = Sinks.one();
+        when(source.findFlightsAsync(any())).thenReturn(upstream.asMono());
+
+        // Act
+        CompletableFuture<FlightSearchResponse> first = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        CompletableFuture<FlightSearchResponse> second = coalescing.findFlightsAsync(createSearchRequest("jfk", "lax")).toFuture();
+        upstream.tryEmitValue(createResponse());
+
+        // Assert
+        assertEquals(1, first.join().getResults().size());
+        assertSame(first.join(), second.join());
+        verify(source, times(1)).findFlightsAsync(any());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.COALESCED_COUNTER).tag("source", "CrazySupplier").counter().count());
+        assertEquals(0, coalescing.inFlight());
+    }
+
+    @Test
+    void findFlightsAsync_WhenPreviousSearchCompleted_ShouldCallSourceAgain() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenAnswer(inv -> Mono.just(createResponse()));
+
+        // Act
+        coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+        coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+
+        // Assert
+        verify(source, times(2)).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsAsync_WhenRouteInvalidatedDuringSearch_ShouldNotJoinOlderSearch() {
+        // Arrange
+        Sinks.One<FlightSearchResponse> older = Sinks.one();
+        Sinks.One<FlightSearchResponse> newer = Sinks.one();
+        when(source.findFlightsAsync(any())).thenReturn(older.asMono()).thenReturn(newer.asMono());
+
+        // Act
+        CompletableFuture<FlightSearchResponse> first = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        flightSearchCache.invalidateRoute("CrazySupplier", "JFK", "LAX");
+        CompletableFuture<FlightSearchResponse> second = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        older.tryEmitValue(new FlightSearchResponse(List.of()));
+        newer.tryEmitValue(createResponse());
+
+        // Assert
+        assertEquals(0, first.join().getResults().size());
+        assertEquals(1, second.join().getResults().size());
+        verify(source, times(2)).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsAsync_WhenSharedSearchFails_ShouldFailEveryJoinerAndForgetIt() {
+        // Arrange
+        Sinks.One<FlightSearchResponse> upstream = Sinks.one();
+        when(source.findFlightsAsync(any())).thenReturn(upstream.asMono());
+
+        // Act
+        CompletableFuture<FlightSearchResponse> first = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        CompletableFuture<FlightSearchResponse> second = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        upstream.tryEmitError(new RuntimeException("supplier down"));
+
+        // Assert
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, coalescing.inFlight());
+    }
+
+    @Test
+    void findFlightsAsync_WhenEveryJoinerCancels_ShouldCancelUpstream() {
+        // Arrange
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(source.findFlightsAsync(any())).thenReturn(Mono.<FlightSearchResponse>never().doOnCancel(() -> cancelled.set(true)));
+        Disposable first = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).subscribe();
+        Disposable second = coalescing.findFlightsAsync(createSearchRequest("JFK", "LAX")).subscribe();
+
+        // Act
+        first.dispose();
+        boolean cancelledAfterFirst = cancelled.get();
+        second.dispose();
+
+        // Assert
+        assertFalse(cancelledAfterFirst);
+        assertTrue(cancelled.get());
+        assertEquals(0, coalescing.inFlight());
+    }
+
+    @Test
+    void streamFlights_WhenIdenticalStreamsOverlap_ShouldCallSourceOnce() {
+        // Arrange
+        Sinks.Many<FlightSearchResult> upstream = Sinks.many().replay().all();
+        when(source.streamFlights(any())).thenReturn(upstream.asFlux());
+
+        // Act
+        CompletableFuture<List<FlightSearchResult>> first = coalescing.streamFlights(createSearchRequest("JFK", "LAX")).collectList().toFuture();
+        upstream.tryEmitNext(new FlightSearchResult());
+        CompletableFuture<List<FlightSearchResult>> second = coalescing.streamFlights(createSearchRequest("JFK", "LAX")).collectList().toFuture();
+        upstream.tryEmitNext(new FlightSearchResult());
+        upstream.tryEmitComplete();
+
+        // Assert
+        assertEquals(2, first.join().size());
+        assertEquals(2, second.join().size());
+        verify(source, times(1)).streamFlights(any());
+    }
+
+    private FlightSearchRequest createSearchRequest(String from, String to) {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom(from);
+        request.setTo(to);
+        return request;
+    }
+
+    private FlightSearchResponse createResponse() {
+        return new FlightSearchResponse(List.of(new FlightSearchResult()));
+    }
+}
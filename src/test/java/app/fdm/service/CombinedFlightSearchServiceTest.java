@@ -0,0 +1,435 @@
+package app.fdm.service;
+
+import app.fdm.config.FlightSearchCacheProperties;
+import app.fdm.config.FlightSearchRegistryProperties;
+import app.fdm.config.FlightSearchResilienceProperties;
+import app.fdm.dto.FareCalendarDay;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CombinedFlightSearchServiceTest {
+
+    @Mock
+    private LocalFlightSearchService localFlightSearchService;
+
+    @Mock
+    private CrazySupplierFlightSearchService crazySupplierFlightSearchService;
+
+    private ExecutorService executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FlightSearchCache noCache;
+
+    private FlightSearchResilience noResilience;
+
+    private CombinedFlightSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        lenient().when(localFlightSearchService.getName()).thenReturn(LocalFlightSearchService.SOURCE_NAME);
+        lenient().when(crazySupplierFlightSearchService.getName()).thenReturn(CrazySupplierFlightSearchService.SUPPLIER_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        noResilience = new FlightSearchResilience(new FlightSearchResilienceProperties(false,
+                0.5, 20, 10, Duration.ofSeconds(10), 3, 64, 0.99, 2.0, Duration.ofMillis(200), Map.of()), meterRegistry);
+        noCache = new FlightSearchCache(new FlightSearchCacheProperties(Duration.ZERO, 0, Map.of()), meterRegistry);
+        searchService = createSearchService(Map.of(
+                LocalFlightSearchService.SOURCE_NAME, new FlightSearchRegistryProperties.Source(null, 100, null, null, null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findFlights_WhenAllSourcesAnswer_ShouldCombineResults() {
+        // Arrange
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.just(createResponse("CrazySupplier")));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(2, response.getResults().size());
+        assertEquals("Local", response.getResults().get(0).getSupplier());
+        assertEquals("CrazySupplier", response.getResults().get(1).getSupplier());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.SEARCH_TIMER)
+                .tags("source", "CrazySupplier", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.RESULTS_SUMMARY)
+                .tag("source", "Local").summary().totalAmount());
+    }
+
+    @Test
+    void findFlights_WhenLocalSearchFails_ShouldReturnSupplierResults() {
+        // Arrange
+        when(localFlightSearchService.findFlights(any())).thenThrow(new RuntimeException("db down"));
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.just(createResponse("CrazySupplier")));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlightsAsync(createSearchRequest()).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(1, response.getResults().size());
+        assertEquals("CrazySupplier", response.getResults().get(0).getSupplier());
+    }
+
+    @Test
+    void findFlights_WhenSourceFails_ShouldReturnPartialResults() {
+        // Arrange
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.error(new RuntimeException("supplier down")));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals("Local", response.getResults().get(0).getSupplier());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.FAILURE_COUNTER)
+                .tags("source", "CrazySupplier", "reason", "error").counter().count());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.SEARCH_TIMER)
+                .tags("source", "CrazySupplier", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void findFlights_WhenSourceExceedsDeadline_ShouldReturnPartialResults() {
+        // Arrange
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+        when(crazySupplierFlightSearchService.findFlightsAsync(any()))
+                .thenReturn(Mono.delay(Duration.ofSeconds(5)).map(t -> createResponse("CrazySupplier")));
+
+        // Act
+        long start = System.nanoTime();
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals("Local", response.getResults().get(0).getSupplier());
+        assertTrue(elapsed < 5_000, "search should not wait for the slow supplier");
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.FAILURE_COUNTER)
+                .tags("source", "CrazySupplier", "reason", "timeout").counter().count());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.SEARCH_TIMER)
+                .tags("source", "CrazySupplier", "outcome", "cancelled").timer().count());
+    }
+
+    @Test
+    void findFlights_WhenSourceHangsUntilDeadline_ShouldOpenItsCircuit() {
+        // Arrange
+        noResilience = new FlightSearchResilience(new FlightSearchResilienceProperties(true,
+                0.5, 4, 2, Duration.ofMinutes(1), 1, 64, 0.99, 2.0, Duration.ofMillis(200), Map.of()), meterRegistry);
+        searchService = createSearchService(Map.of());
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.never());
+
+        // Act
+        searchService.findFlights(createSearchRequest());
+        searchService.findFlights(createSearchRequest());
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals(CircuitBreaker.State.OPEN.ordinal(), meterRegistry.get("flight.search.source.circuit.state")
+                .tag("source", "CrazySupplier").gauge().value());
+        verify(crazySupplierFlightSearchService, times(2)).findFlightsAsync(any());
+    }
+
+    @Test
+    void streamFlights_ShouldEmitLocalResultsFirst() {
+        // Arrange
+        when(localFlightSearchService.findFlights(any())).thenAnswer(inv -> {
+            Thread.sleep(100);
+            return createResponse("Local");
+        });
+        when(crazySupplierFlightSearchService.streamFlights(any()))
+                .thenReturn(Flux.fromIterable(createResponse("CrazySupplier").getResults()));
+
+        // Act
+        List<FlightSearchResult> results = searchService.streamFlights(createSearchRequest()).collectList().block();
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        assertEquals("Local", results.get(0).getSupplier());
+        assertEquals("CrazySupplier", results.get(1).getSupplier());
+    }
+
+    @Test
+    void streamFlights_WhenSupplierFails_ShouldStreamLocalResults() {
+        // Arrange
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+        when(crazySupplierFlightSearchService.streamFlights(any())).thenReturn(Flux.error(new RuntimeException("supplier down")));
+
+        // Act
+        List<FlightSearchResult> results = searchService.streamFlights(createSearchRequest()).collectList().block();
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        assertEquals("Local", results.get(0).getSupplier());
+    }
+
+    @Test
+    void findFlights_WhenSupplierDoesNotCoverRoute_ShouldNotCallIt() {
+        // Arrange
+        searchService = createSearchService(Map.of(CrazySupplierFlightSearchService.SUPPLIER_NAME,
+                new FlightSearchRegistryProperties.Source(null, null, null, List.of("AMS-*"), null)));
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        verify(crazySupplierFlightSearchService, never()).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlights_WhenSupplierIsDisabled_ShouldNotRegisterIt() {
+        // Arrange
+        searchService = createSearchService(Map.of(CrazySupplierFlightSearchService.SUPPLIER_NAME,
+                new FlightSearchRegistryProperties.Source(false, null, null, null, null)));
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals(List.of(LocalFlightSearchService.SOURCE_NAME), searchService.getRegistry().all().stream()
+                .map(FlightSearchSourceRegistry.RegisteredSource::name).toList());
+        verify(crazySupplierFlightSearchService, never()).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlights_ShouldOrderResultsBySourcePriority() {
+        // Arrange
+        searchService = createSearchService(Map.of(
+                LocalFlightSearchService.SOURCE_NAME, new FlightSearchRegistryProperties.Source(null, 1, null, null, null),
+                CrazySupplierFlightSearchService.SUPPLIER_NAME, new FlightSearchRegistryProperties.Source(null, 10, null, null, null)));
+        when(localFlightSearchService.findFlights(any())).thenReturn(createResponse("Local"));
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.just(createResponse("CrazySupplier")));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals("CrazySupplier", response.getResults().get(0).getSupplier());
+        assertEquals("Local", response.getResults().get(1).getSupplier());
+    }
+
+    @Test
+    void findFlights_WithSortAndLimit_ShouldReturnCheapestAcrossSources() {
+        // Arrange
+        FlightSearchResponse local = createResponse("Local");
+        local.getResults().get(0).setFare(new BigDecimal("300.00"));
+        when(localFlightSearchService.findFlights(any())).thenReturn(local);
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.just(createResponse("CrazySupplier")));
+        FlightSearchRequest request = createSearchRequest();
+        request.setSort(FlightSearchSort.FARE);
+        request.setLimit(1);
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(request);
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals("CrazySupplier", response.getResults().get(0).getSupplier());
+        assertNotNull(response.getNextCursor());
+    }
+
+    @Test
+    void findFlightsBatch_ShouldSendEachSourceTheSearchesItCovers() {
+        // Arrange
+        searchService = createSearchService(Map.of(CrazySupplierFlightSearchService.SUPPLIER_NAME,
+                new FlightSearchRegistryProperties.Source(null, null, null, List.of("JFK-*"), null)));
+        FlightSearchRequest covered = createSearchRequest();
+        FlightSearchRequest notCovered = createSearchRequest();
+        notCovered.setFrom("AMS");
+        when(localFlightSearchService.findFlightsBatch(List.of(covered, notCovered)))
+                .thenReturn(List.of(createResponse("Local"), createResponse("Local")));
+        when(crazySupplierFlightSearchService.findFlightsBatchAsync(List.of(covered)))
+                .thenReturn(Mono.just(List.of(createResponse("CrazySupplier"))));
+
+        // Act
+        List<FlightSearchResponse> responses = searchService.findFlightsBatch(List.of(covered, notCovered));
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(List.of("CrazySupplier", "Local"), responses.get(0).getResults().stream()
+                .map(FlightSearchResult::getSupplier).toList());
+        assertEquals(List.of("Local"), responses.get(1).getResults().stream()
+                .map(FlightSearchResult::getSupplier).toList());
+        verify(localFlightSearchService).findFlightsBatch(any());
+        verify(crazySupplierFlightSearchService).findFlightsBatchAsync(any());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.BATCH_TIMER)
+                .tags("source", "CrazySupplier", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void findFlightsBatch_WhenSourceFails_ShouldReturnOtherSourcesResults() {
+        // Arrange
+        FlightSearchRequest first = createSearchRequest();
+        FlightSearchRequest second = createSearchRequest();
+        when(localFlightSearchService.findFlightsBatch(any()))
+                .thenReturn(List.of(createResponse("Local"), createResponse("Local")));
+        when(crazySupplierFlightSearchService.findFlightsBatchAsync(any()))
+                .thenReturn(Mono.error(new RuntimeException("supplier down")));
+
+        // Act
+        List<FlightSearchResponse> responses = searchService.findFlightsBatch(List.of(first, second));
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(1, responses.get(0).getResults().size());
+        assertEquals(1, responses.get(1).getResults().size());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.FAILURE_COUNTER)
+                .tags("source", "CrazySupplier", "reason", "error").counter().count());
+    }
+
+    @Test
+    void findLowestFares_ShouldKeepCheapestFareOfEachDayAcrossSources() {
+        // Arrange
+        FareCalendarRequest calendar = new FareCalendarRequest();
+        calendar.setFrom("JFK");
+        calendar.setTo("LAX");
+        calendar.setStartDate(LocalDate.parse("2025-06-22"));
+        calendar.setEndDate(LocalDate.parse("2025-06-23"));
+        when(localFlightSearchService.findLowestFares(calendar)).thenReturn(new FareCalendarResponse("JFK", "LAX", List.of(
+                new FareCalendarDay(LocalDate.parse("2025-06-22"), new BigDecimal("100.00")),
+                new FareCalendarDay(LocalDate.parse("2025-06-23"), null))));
+        when(crazySupplierFlightSearchService.findLowestFaresAsync(calendar)).thenReturn(Mono.just(new FareCalendarResponse("JFK", "LAX", List.of(
+                new FareCalendarDay(LocalDate.parse("2025-06-22"), new BigDecimal("120.00")),
+                new FareCalendarDay(LocalDate.parse("2025-06-23"), new BigDecimal("90.00"))))));
+
+        // Act
+        FareCalendarResponse response = searchService.findLowestFares(calendar);
+
+        // Assert
+        assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("90.00")),
+                response.getDays().stream().map(FareCalendarDay::getLowestFare).toList());
+    }
+
+    @Test
+    void findLowestFares_WhenSourceFails_ShouldReturnOtherSourcesFares() {
+        // Arrange
+        FareCalendarRequest calendar = new FareCalendarRequest();
+        calendar.setFrom("JFK");
+        calendar.setTo("LAX");
+        calendar.setStartDate(LocalDate.parse("2025-06-22"));
+        calendar.setEndDate(LocalDate.parse("2025-06-22"));
+        when(localFlightSearchService.findLowestFares(calendar)).thenThrow(new RuntimeException("db down"));
+        when(crazySupplierFlightSearchService.findLowestFaresAsync(calendar)).thenReturn(Mono.just(new FareCalendarResponse("JFK", "LAX", List.of(
+                new FareCalendarDay(LocalDate.parse("2025-06-22"), new BigDecimal("120.00"))))));
+
+        // Act
+        FareCalendarResponse response = searchService.findLowestFares(calendar);
+
+        // Assert
+        assertEquals(1, response.getDays().size());
+        assertEquals(new BigDecimal("120.00"), response.getDays().get(0).getLowestFare());
+        assertEquals(1, meterRegistry.get(FlightSearchMetrics.FAILURE_COUNTER)
+                .tags("source", "Local", "reason", "error").counter().count());
+    }
+
+    @Test
+    void findFlights_WhenSourcesReturnSameFlight_ShouldKeepCheapestOffer() {
+        // Arrange
+        FlightSearchResponse local = createResponse("Local");
+        local.getResults().get(0).setAirline("Delta");
+        FlightSearchResponse supplier = createResponse("CrazySupplier");
+        supplier.getResults().get(0).setAirline("DELTA");
+        supplier.getResults().get(0).setFare(new BigDecimal("150.00"));
+        when(localFlightSearchService.findFlights(any())).thenReturn(local);
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.just(supplier));
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals("CrazySupplier", response.getResults().get(0).getSupplier());
+        assertNull(response.getResults().get(0).getAlternatives());
+    }
+
+    @Test
+    void findFlights_WithAlternatives_ShouldAttachOtherOffersToCopy() {
+        // Arrange
+        FlightSearchResponse local = createResponse("Local");
+        local.getResults().get(0).setAirline("Delta");
+        FlightSearchResponse supplier = createResponse("CrazySupplier");
+        supplier.getResults().get(0).setAirline("Delta");
+        supplier.getResults().get(0).setFare(new BigDecimal("150.00"));
+        when(localFlightSearchService.findFlights(any())).thenReturn(local);
+        when(crazySupplierFlightSearchService.findFlightsAsync(any())).thenReturn(Mono.just(supplier));
+        FlightSearchRequest request = createSearchRequest();
+        request.setAlternatives(true);
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(request);
+
+        // Assert
+        FlightSearchResult cheapest = response.getResults().get(0);
+        assertEquals(1, cheapest.getAlternatives().size());
+        assertEquals("Local", cheapest.getAlternatives().get(0).getSupplier());
+        assertEquals(new BigDecimal("199.99"), cheapest.getAlternatives().get(0).getFare());
+        assertNotSame(supplier.getResults().get(0), cheapest);
+        assertNull(supplier.getResults().get(0).getAlternatives());
+    }
+
+    private CombinedFlightSearchService createSearchService(Map<String, FlightSearchRegistryProperties.Source> sources) {
+        return new CombinedFlightSearchService(List.of(localFlightSearchService, crazySupplierFlightSearchService),
+                new FlightSearchRegistryProperties(sources), noCache, noResilience, new FlightSearchMetrics(meterRegistry),
+                executor, Duration.ofMillis(500), true, true);
+    }
+
+    private FlightSearchRequest createSearchRequest() {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+        return request;
+    }
+
+    private FlightSearchResponse createResponse(String supplier) {
+        FlightSearchResult result = new FlightSearchResult();
+        result.setAirline(supplier + " Airline");
+        result.setSupplier(supplier);
+        result.setFare(new BigDecimal("199.99"));
+        result.setDepartureAirport("JFK");
+        result.setDestinationAirport("LAX");
+        result.setDepartureTime(ZonedDateTime.parse("2025-06-22T10:00:00Z"));
+        result.setArrivalTime(ZonedDateTime.parse("2025-06-22T15:00:00Z"));
+        return new FlightSearchResponse(List.of(result));
+    }
+}
@@ -1,6 +1,9 @@
 
 package app.fdm.service;
 
+import app.fdm.config.SupplierHttpClientFactory;
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
 import app.fdm.dto.FlightSearchResult;
@@ -9,25 +12,39 @@ import app.fdm.service.CrazySupplierFlightSearchService.CrazySupplierResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CrazySupplierFlightSearchServiceTest {
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private SupplierHttpClientFactory supplierHttpClientFactory;
 
     @Mock
     private WebClient webClient;
@@ -36,9 +53,8 @@ class CrazySupplierFlightSearchServiceTest {
 
     @BeforeEach
     void setUp() {
-        when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
-        when(webClientBuilder.build()).thenReturn(webClient);
-        searchService = new CrazySupplierFlightSearchService(webClientBuilder, "http://test.com");
+        when(supplierHttpClientFactory.create(CrazySupplierFlightSearchService.SUPPLIER_NAME, "http://test.com")).thenReturn(webClient);
+        searchService = new CrazySupplierFlightSearchService(supplierHttpClientFactory, "http://test.com");
     }
 
     @Test
@@ -56,8 +72,8 @@ class CrazySupplierFlightSearchServiceTest {
         when(requestBodyUriSpec.uri("/flights")).thenReturn(requestBodySpec);
         when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(CrazySupplierResult[].class))
-                .thenReturn(Mono.just(supplierResults));
+        when(responseSpec.bodyToFlux(CrazySupplierResult.class))
+                .thenReturn(Flux.just(supplierResults));
 
         // Act
         FlightSearchResponse response = searchService.findFlights(request);
@@ -74,7 +90,7 @@ class CrazySupplierFlightSearchServiceTest {
         verify(requestBodyUriSpec).uri("/flights");
         verify(requestBodySpec).bodyValue(any(CrazySupplierRequest.class));
         verify(requestHeadersSpec).retrieve();
-        verify(responseSpec).bodyToMono(CrazySupplierResult[].class);
+        verify(responseSpec).bodyToFlux(CrazySupplierResult.class);
     }
 
     @Test
@@ -91,8 +107,8 @@ class CrazySupplierFlightSearchServiceTest {
         when(requestBodyUriSpec.uri("/flights")).thenReturn(requestBodySpec);
         when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(CrazySupplierResult[].class))
-                .thenReturn(Mono.empty());
+        when(responseSpec.bodyToFlux(CrazySupplierResult.class))
+                .thenReturn(Flux.empty());
 
         // Act
         FlightSearchResponse response = searchService.findFlights(request);
@@ -102,6 +118,104 @@ class CrazySupplierFlightSearchServiceTest {
         assertTrue(response.getResults().isEmpty());
     }
 
+    @Test
+    void findFlights_WhenBodyExceedsCodecLimit_ShouldDecodeFlightByFlight() {
+        // Arrange
+        String flight = "{\"carrier\":\"TestCarrier\",\"basePrice\":100.0,\"tax\":10.0,\"departureAirportName\":\"JFK\","
+                + "\"arrivalAirportName\":\"LAX\",\"outboundDateTime\":\"2025-06-22\",\"inboundDateTime\":\"2025-06-23\"}";
+        byte[] body = ("[" + String.join(",", Collections.nCopies(500, flight)) + "]").getBytes(StandardCharsets.UTF_8);
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(1024))
+                .build();
+        // far larger than the codec limit
+        Flux<DataBuffer> chunks = Flux.range(0, (body.length + 511) / 512)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(body, i * 512, Math.min(body.length, (i + 1) * 512))));
+        WebClient streamingClient = WebClient.builder()
+                .exchangeStrategies(strategies)
+                .exchangeFunction(r -> Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(chunks)
+                        .build()))
+                .build();
+        when(supplierHttpClientFactory.create(CrazySupplierFlightSearchService.SUPPLIER_NAME, "http://test.com")).thenReturn(streamingClient);
+        searchService = new CrazySupplierFlightSearchService(supplierHttpClientFactory, "http://test.com");
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(createSearchRequest());
+
+        // Assert
+        assertEquals(500, response.getResults().size());
+        assertEquals("TestCarrier", response.getResults().get(499).getAirline());
+    }
+
+    @Test
+    void findFlightsBatch_ShouldCallSupplierOncePerDistinctQuery() {
+        // Arrange
+        FlightSearchRequest morning = createSearchRequest();
+        morning.setDepartureTime(ZonedDateTime.parse("2025-06-22T08:00:00Z"));
+        FlightSearchRequest evening = createSearchRequest();
+        evening.setDepartureTime(ZonedDateTime.parse("2025-06-22T18:00:00Z"));
+        FlightSearchRequest nextDay = createSearchRequest();
+        nextDay.setDepartureTime(ZonedDateTime.parse("2025-06-23T08:00:00Z"));
+
+        WebClient.RequestBodyUriSpec requestBodyUriSpec = mock(WebClient.RequestBodyUriSpec.class);
+        WebClient.RequestBodySpec requestBodySpec = mock(WebClient.RequestBodySpec.class);
+        WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/flights")).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(CrazySupplierResult.class))
+                .thenReturn(Flux.just(createSupplierResults()));
+
+        // Act
+        List<FlightSearchResponse> responses = searchService.findFlightsBatch(List.of(morning, evening, nextDay));
+
+        // Assert
+        assertEquals(3, responses.size());
+        responses.forEach(r -> assertEquals(1, r.getResults().size()));
+        ArgumentCaptor<CrazySupplierRequest> sent = ArgumentCaptor.forClass(CrazySupplierRequest.class);
+        verify(requestBodySpec, times(2)).bodyValue(sent.capture());
+        assertEquals(List.of("2025-06-22", "2025-06-23"), sent.getAllValues().stream()
+                .map(CrazySupplierRequest::getOutboundDate).toList());
+    }
+
+    @Test
+    void findLowestFares_ShouldAskSupplierOncePerDay() {
+        // Arrange
+        FareCalendarRequest calendar = new FareCalendarRequest();
+        calendar.setFrom("JFK");
+        calendar.setTo("LAX");
+        calendar.setStartDate(LocalDate.parse("2025-06-22"));
+        calendar.setEndDate(LocalDate.parse("2025-06-24"));
+
+        WebClient.RequestBodyUriSpec requestBodyUriSpec = mock(WebClient.RequestBodyUriSpec.class);
+        WebClient.RequestBodySpec requestBodySpec = mock(WebClient.RequestBodySpec.class);
+        WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/flights")).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(CrazySupplierResult.class))
+                .thenReturn(Flux.just(createSupplierResults()));
+
+        // Act
+        FareCalendarResponse response = searchService.findLowestFares(calendar);
+
+        // Assert
+        assertEquals(3, response.getDays().size());
+        response.getDays().forEach(d -> assertEquals(0, new BigDecimal("110.0").compareTo(d.getLowestFare())));
+        ArgumentCaptor<CrazySupplierRequest> sent = ArgumentCaptor.forClass(CrazySupplierRequest.class);
+        verify(requestBodySpec, times(3)).bodyValue(sent.capture());
+        assertEquals(List.of("2025-06-22", "2025-06-23", "2025-06-24"), sent.getAllValues().stream()
+                .map(CrazySupplierRequest::getOutboundDate).toList());
+    }
+
     @Test
     void mapToServiceEntity_ShouldMapAllFields() {
         // Arrange
@@ -154,7 +268,8 @@ class CrazySupplierFlightSearchServiceTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(ZoneId.of("CET"), result.getZone());
+        assertEquals(ZoneOffset.UTC, result.getZone());
+        assertEquals(ZonedDateTime.parse("2025-06-21T22:00:00Z"), result);
     }
 
     private FlightSearchRequest createSearchRequest() {
@@ -0,0 +1,118 @@
+package app.fdm.service;
+
+import app.fdm.dto.BulkFlightResponse;
+import app.fdm.dto.Flight;
+import app.fdm.repository.model.FlightEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class FlightImportServiceTest {
+
+    private static final String CSV_HEADER = "airline,supplier,fare,departureAirport,destinationAirport,departureTime,arrivalTime\n";
+    private static final String CSV_ROW = "Delta,Test Supplier,199.99,JFK,LAX,2025-06-22T10:00:00Z,2025-06-22T15:00:00Z\n";
+    private static final String JSON_ROW = "{\"airline\":\"Delta\",\"supplier\":\"Test Supplier\",\"fare\":199.99,"
+            + "\"departureAirport\":\"JFK\",\"destinationAirport\":\"LAX\","
+            + "\"departureTime\":\"2025-06-22T10:00:00Z\",\"arrivalTime\":\"2025-06-22T15:00:00Z\"}\n";
+
+    private static final Consumer<Flight> REQUIRE_AIRLINE = f -> {
+        if (f.getAirline() == null) {
+            throw new IllegalArgumentException("Airline cannot be null or blank");
+        }
+    };
+
+    @Mock
+    private FlightService flightService;
+
+    private FlightImportService importService;
+
+    private final AtomicInteger savedRows = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        importService = new FlightImportService(flightService, new ObjectMapper().findAndRegisterModules(), 3, 1);
+        lenient().doAnswer(inv -> {
+            List<FlightEntity> batch = inv.getArgument(0);
+            BulkFlightResponse response = inv.getArgument(2);
+            savedRows.addAndGet(batch.size());
+            response.setSaved(response.getSaved() + batch.size());
+            return null;
+        }).when(flightService).saveBatch(anyList(), anyList(), any());
+    }
+
+    @Test
+    void importFlights_WithCsv_ShouldSaveEveryValidRow() throws Exception {
+        // Arrange
+        String csv = CSV_HEADER + CSV_ROW + ",Test Supplier,1,JFK,LAX,2025-06-22T10:00:00Z,2025-06-22T15:00:00Z\n"
+                + "Delta,Test Supplier,not-a-number,JFK,LAX,2025-06-22T10:00:00Z,2025-06-22T15:00:00Z\n"
+                + CSV_ROW.repeat(10);
+
+        // Act
+        BulkFlightResponse response = importService.importFlights(stream(csv), FlightImportService.Format.CSV, REQUIRE_AIRLINE);
+
+        // Assert
+        assertEquals(13, response.getReceived());
+        assertEquals(11, response.getSaved());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(1, 2), response.getErrors().stream().map(e -> e.getIndex()).toList());
+        assertEquals(11, savedRows.get());
+    }
+
+    @Test
+    void importFlights_WithNdjson_ShouldSaveEveryValidRow() throws Exception {
+        // Arrange
+        String ndjson = JSON_ROW.repeat(7) + "{\"supplier\":\"Test Supplier\"}\n";
+
+        // Act
+        BulkFlightResponse response = importService.importFlights(stream(ndjson), FlightImportService.Format.NDJSON, REQUIRE_AIRLINE);
+
+        // Assert
+        assertEquals(8, response.getReceived());
+        assertEquals(7, response.getSaved());
+        assertEquals(7, response.getErrors().get(0).getIndex());
+    }
+
+    @Test
+    void importFlights_WithBrokenNdjson_ShouldKeepRowsBeforeTheBreak() throws Exception {
+        // Arrange
+        String ndjson = JSON_ROW.repeat(4) + "{\"airline\": ";
+
+        // Act
+        BulkFlightResponse response = importService.importFlights(stream(ndjson), FlightImportService.Format.NDJSON, REQUIRE_AIRLINE);
+
+        // Assert
+        assertEquals(4, response.getSaved());
+        assertEquals(1, response.getFailed());
+    }
+
+    @Test
+    void split_ShouldHonourQuotes() {
+        assertEquals(List.of("a", "b,c", "d\"e", ""), FlightImportService.CsvRows.split("a,\"b,c\",\"d\"\"e\","));
+    }
+
+    @Test
+    void fromFileName_ShouldDetectCsv() {
+        assertEquals(FlightImportService.Format.CSV, FlightImportService.Format.fromFileName("schedule.CSV"));
+        assertEquals(FlightImportService.Format.NDJSON, FlightImportService.Format.fromFileName("schedule.ndjson"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,278 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.repository.FlightRepository;
+import app.fdm.repository.model.FlightEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRouteIndexTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-22T00:00:00Z");
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightRouteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of(
+                createFlight(1L, "JFK", "LAX", 10),
+                createFlight(2L, "JFK", "LAX", 2),
+                createFlight(3L, "JFK", "LAX", 6),
+                createFlight(4L, "JFK", "SFO", 6)));
+        index = new FlightRouteIndex(flightRepository, true);
+        index.rebuild();
+    }
+
+    @Test
+    void search_WithoutTimeBounds_ShouldReturnWholeRouteSortedByDeparture() {
+        assertEquals(List.of(2, 6, 10), departureHours("JFK", "LAX"));
+    }
+
+    @Test
+    void search_WithTimeBounds_ShouldReturnOnlyFlightsInRange() {
+        // Arrange
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("jfk");
+        request.setTo("lax");
+        request.setDepartureTime(BASE.plusHours(2));
+        request.setArrivalTime(BASE.plusHours(11));
+
+        // Act
+        List<FlightSearchResult> results = index.search(request);
+
+        // Assert
+        assertEquals(List.of(BASE.plusHours(2), BASE.plusHours(6)), results.stream().map(FlightSearchResult::getDepartureTime).toList());
+    }
+
+    @Test
+    void search_WhenRouteUnknown_ShouldReturnEmpty() {
+        assertTrue(departureHours("LHR", "CDG").isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldLoadTableInKeysetPages() {
+        // Arrange
+        List<FlightEntity> firstPage = new ArrayList<>();
+        for (long id = 1; id <= FlightRouteIndex.LOAD_PAGE_SIZE; id++) {
+            firstPage.add(createFlight(id, "JFK", "LAX", 1));
+        }
+        long lastOfFirstPage = FlightRouteIndex.LOAD_PAGE_SIZE;
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any(Limit.class))).thenReturn(firstPage);
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(eq(lastOfFirstPage), any(Limit.class)))
+                .thenReturn(List.of(createFlight(lastOfFirstPage + 1, "JFK", "SFO", 3)));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(FlightRouteIndex.LOAD_PAGE_SIZE + 1, index.size());
+        assertEquals(List.of(3), departureHours("JFK", "SFO"));
+        verify(flightRepository).findByIdGreaterThanOrderByIdAsc(lastOfFirstPage, Limit.of(FlightRouteIndex.LOAD_PAGE_SIZE));
+    }
+
+    @Test
+    void rebuild_WhileLoading_ShouldKeepServingPreviousRoutes() {
+        // Arrange
+        List<List<Integer>> seenWhileLoading = new ArrayList<>();
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            seenWhileLoading.add(departureHours("JFK", "LAX"));
+            return List.of(createFlight(7L, "JFK", "LAX", 12));
+        });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(List.of(List.of(2, 6, 10)), seenWhileLoading);
+        assertEquals(List.of(12), departureHours("JFK", "LAX"));
+        assertTrue(departureHours("JFK", "SFO").isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_ShouldFilterOnBoundsAndAirlineAndKeepFlightValues() {
+        // Arrange
+        FlightEntity other = createFlight(5L, "JFK", "LAX", 4);
+        other.setAirline("Other");
+        FlightEntity tokyo = createFlight(6L, "JFK", "LAX", 5);
+        tokyo.setDepartureTime(BASE.plusHours(5).plusNanos(500).withZoneSameInstant(ZoneId.of("Asia/Tokyo")));
+        tokyo.setFare(new BigDecimal("120.5"));
+        index.putAll(List.of(other, tokyo));
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+        request.setAirline("sample airline");
+        request.setDepartureTime(BASE.plusHours(3));
+        request.setArrivalTime(BASE.plusHours(11));
+
+        // Act
+        List<FlightSearchResult> results = index.search(request);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(tokyo.getDepartureTime(), results.get(0).getDepartureTime());
+        assertEquals(new BigDecimal("120.50"), results.get(0).getFare());
+        assertEquals("Sample Supplier", results.get(0).getSupplier());
+        assertEquals(BASE.plusHours(6), results.get(1).getDepartureTime());
+    }
+
+    @Test
+    void search_WithAirline_ShouldMatchEverySpellingAndNothingForUnknownAirline() {
+        // Arrange
+        FlightEntity upperCase = createFlight(5L, "JFK", "LAX", 4);
+        upperCase.setAirline("SAMPLE AIRLINE");
+        index.put(upperCase);
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+
+        // Act
+        request.setAirline("Sample Airline");
+        List<FlightSearchResult> matching = index.search(request);
+        request.setAirline("Unknown Airline");
+        List<FlightSearchResult> unknown = index.search(request);
+
+        // Assert
+        assertEquals(4, matching.size());
+        assertTrue(unknown.isEmpty());
+    }
+
+    @Test
+    void putAll_WithFareBeyondLongCents_ShouldIndexFlightWithoutFare() {
+        // Arrange
+        FlightEntity huge = createFlight(5L, "JFK", "SFO", 4);
+        huge.setFare(new BigDecimal("1e30"));
+
+        // Act
+        index.putAll(List.of(huge));
+
+        // Assert
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("SFO");
+        List<FlightSearchResult> results = index.search(request);
+        assertEquals(2, results.size());
+        assertNull(results.get(0).getFare());
+    }
+
+    @Test
+    void search_ShouldCompareBoundsBelowTheSecond() {
+        // Arrange
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+        request.setDepartureTime(BASE.plusHours(2).plusNanos(1));
+
+        // Act
+        List<FlightSearchResult> results = index.search(request);
+
+        // Assert
+        assertEquals(List.of(BASE.plusHours(6), BASE.plusHours(10)),
+                results.stream().map(FlightSearchResult::getDepartureTime).toList());
+    }
+
+    @Test
+    void put_WhenFlightMovesRoute_ShouldRemoveItFromOldRoute() {
+        // Act
+        index.put(createFlight(3L, "JFK", "SFO", 8));
+
+        // Assert
+        assertEquals(List.of(2, 10), departureHours("JFK", "LAX"));
+        assertEquals(List.of(6, 8), departureHours("JFK", "SFO"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void putAll_ShouldMergeBatchInDepartureOrderAndReplaceSameId() {
+        // Act
+        index.putAll(List.of(createFlight(5L, "JFK", "LAX", 4), createFlight(1L, "JFK", "LAX", 1), createFlight(6L, "JFK", "LAX", 12)));
+
+        // Assert
+        assertEquals(List.of(1, 2, 4, 6, 12), departureHours("JFK", "LAX"));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropFlight() {
+        // Act
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(6, 10), departureHours("JFK", "LAX"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void lowestFarePerDay_ShouldReturnCheapestFareOfEachUtcDay() {
+        // Arrange
+        FlightEntity cheapLate = createFlight(5L, "JFK", "LAX", 23);
+        cheapLate.setFare(new BigDecimal("99.00"));
+        FlightEntity nextDay = createFlight(6L, "JFK", "LAX", 30);
+        nextDay.setFare(new BigDecimal("150.00"));
+        index.putAll(List.of(cheapLate, nextDay));
+
+        // Act
+        Map<LocalDate, BigDecimal> lowest = index.lowestFarePerDay("JFK", "LAX", BASE, BASE.plusDays(3), null);
+
+        // Assert
+        assertEquals(Map.of(LocalDate.parse("2025-06-22"), new BigDecimal("99.00"),
+                LocalDate.parse("2025-06-23"), new BigDecimal("150.00")), lowest);
+    }
+
+    @Test
+    void lowestFarePerDay_WithAirline_ShouldSkipOtherAirlines() {
+        // Act
+        Map<LocalDate, BigDecimal> lowest = index.lowestFarePerDay("JFK", "LAX", BASE, BASE.plusDays(1), "Other");
+
+        // Assert
+        assertTrue(lowest.isEmpty());
+    }
+
+    // hours after BASE, in index order
+    private List<Integer> departureHours(String from, String to) {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom(from);
+        request.setTo(to);
+        return index.search(request).stream()
+                .map(r -> (int) Duration.between(BASE, r.getDepartureTime()).toHours())
+                .toList();
+    }
+
+    private FlightEntity createFlight(Long id, String from, String to, int departureHour) {
+        FlightEntity entity = new FlightEntity();
+        entity.setId(id);
+        entity.setAirline("Sample Airline");
+        entity.setSupplier("Sample Supplier");
+        entity.setFare(new BigDecimal("199.99"));
+        entity.setDepartureAirport(from);
+        entity.setDestinationAirport(to);
+        entity.setDepartureTime(BASE.plusHours(departureHour));
+        entity.setArrivalTime(BASE.plusHours(departureHour + 5));
+        return entity;
+    }
+}
@@ -0,0 +1,232 @@
+package app.fdm.service;
+
+import app.fdm.config.FlightSearchCacheProperties;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightSearchCacheTest {
+
+    @Mock
+    private ReactiveFlightSearchService source;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FlightSearchCache flightSearchCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        flightSearchCache = new FlightSearchCache(new FlightSearchCacheProperties(Duration.ofMinutes(1), 100,
+                Map.of("Disabled", new FlightSearchCacheProperties.Source(Duration.ZERO, null))), meterRegistry);
+        lenient().when(source.getName()).thenReturn("Local");
+    }
+
+    @Test
+    void findFlightsAsync_WhenSameSearchRepeats_ShouldCallSourceOnce() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.just(createResponse()));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+
+        // Act
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+        FlightSearchResponse response = cached.findFlightsAsync(createSearchRequest("jfk", "lax")).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(1, response.getResults().size());
+        verify(source, times(1)).findFlightsAsync(any());
+        assertEquals(1, flightSearchCache.stats().get("Local").hitCount());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("source", "Local", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void findFlightsBatchAsync_ShouldOnlySendMissesToSource() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.just(createResponse()));
+        when(source.findFlightsBatchAsync(any())).thenReturn(Mono.just(List.of(createResponse())));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+
+        // Act
+        List<FlightSearchResponse> responses = cached.findFlightsBatchAsync(List.of(
+                createSearchRequest("JFK", "LAX"), createSearchRequest("LAX", "JFK"))).block();
+        cached.findFlightsAsync(createSearchRequest("LAX", "JFK")).block();
+
+        // Assert
+        assertEquals(2, responses.size());
+        ArgumentCaptor<List<FlightSearchRequest>> sent = ArgumentCaptor.forClass(List.class);
+        verify(source).findFlightsBatchAsync(sent.capture());
+        assertEquals("LAX", sent.getValue().get(0).getFrom());
+        assertEquals(1, sent.getValue().size());
+        verify(source, times(1)).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsBatchAsync_WhenSourceLeavesSearchUnanswered_ShouldPassNullOnAndNotCacheIt() {
+        // Arrange
+        when(source.findFlightsBatchAsync(any()))
+                .thenReturn(Mono.just(Arrays.asList(createResponse(), null)))
+                .thenReturn(Mono.just(List.of(createResponse())));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+        List<FlightSearchRequest> searches = List.of(createSearchRequest("JFK", "LAX"), createSearchRequest("LAX", "JFK"));
+
+        // Act
+        List<FlightSearchResponse> responses = cached.findFlightsBatchAsync(searches).block();
+        cached.findFlightsBatchAsync(searches).block();
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertNotNull(responses.get(0));
+        assertNull(responses.get(1));
+        // only the unanswered search is asked again
+        ArgumentCaptor<List<FlightSearchRequest>> sent = ArgumentCaptor.forClass(List.class);
+        verify(source, times(2)).findFlightsBatchAsync(sent.capture());
+        assertEquals(1, sent.getAllValues().get(1).size());
+        assertEquals("LAX", sent.getAllValues().get(1).get(0).getFrom());
+    }
+
+    @Test
+    void findFlightsAsync_WhenRouteInvalidated_ShouldCallSourceAgain() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.just(createResponse()));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+
+        // Act
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+        flightSearchCache.invalidateRoute("Local", "JFK", "LAX");
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+
+        // Assert
+        verify(source, times(2)).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsAsync_WhenOtherRouteInvalidated_ShouldKeepEntry() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.just(createResponse()));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+
+        // Act
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+        flightSearchCache.invalidateRoute("Local", "JFK", "SFO");
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+
+        // Assert
+        verify(source, times(1)).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsAsync_WhenOtherRouteInvalidatedDuringSearch_ShouldStillCacheResult() {
+        // Arrange
+        Sinks.One<FlightSearchResponse> answer = Sinks.one();
+        when(source.findFlightsAsync(any())).thenReturn(answer.asMono());
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+
+        // Act
+        CompletableFuture<FlightSearchResponse> pending = cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        flightSearchCache.invalidateRoute("Local", "JFK", "SFO");
+        answer.tryEmitValue(createResponse());
+        pending.join();
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+
+        // Assert
+        verify(source, times(1)).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsAsync_WhenRouteInvalidatedDuringSearch_ShouldNotCacheResult() {
+        // Arrange
+        Sinks.One<FlightSearchResponse> answer = Sinks.one();
+        when(source.findFlightsAsync(any())).thenReturn(answer.asMono()).thenReturn(Mono.just(createResponse()));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+
+        // Act
+        CompletableFuture<FlightSearchResponse> pending = cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).toFuture();
+        flightSearchCache.invalidateRoute("Local", "JFK", "LAX");
+        answer.tryEmitValue(createResponse());
+        pending.join();
+        cached.findFlightsAsync(createSearchRequest("JFK", "LAX")).block();
+
+        // Assert
+        verify(source, times(2)).findFlightsAsync(any());
+    }
+
+    @Test
+    void streamFlights_WhenSourceCompletes_ShouldServeNextSearchFromCache() {
+        // Arrange
+        when(source.streamFlights(any())).thenReturn(Flux.fromIterable(createResponse().getResults()));
+        ReactiveFlightSearchService cached = flightSearchCache.decorate(source);
+
+        // Act
+        cached.streamFlights(createSearchRequest("JFK", "LAX")).collectList().block();
+        List<FlightSearchResult> results = cached.streamFlights(createSearchRequest("JFK", "LAX")).collectList().block();
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        verify(source, times(1)).streamFlights(any());
+    }
+
+    @Test
+    void decorate_WhenTtlIsZero_ShouldReturnSource() {
+        // Arrange
+        when(source.getName()).thenReturn("Disabled");
+
+        assertSame(source, flightSearchCache.decorate(source));
+    }
+
+    @Test
+    void searchKey_ShouldNormalizeCodesAndZones() {
+        // Arrange
+        FlightSearchRequest utc = createSearchRequest("JFK", "LAX");
+        utc.setDepartureTime(ZonedDateTime.parse("2025-06-22T10:00:00Z"));
+        FlightSearchRequest cet = createSearchRequest(" jfk", "lax ");
+        cet.setDepartureTime(ZonedDateTime.parse("2025-06-22T10:00:00Z").withZoneSameInstant(ZoneId.of("CET")));
+
+        assertEquals(SearchKey.of(utc), SearchKey.of(cet));
+    }
+
+    private FlightSearchRequest createSearchRequest(String from, String to) {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom(from);
+        request.setTo(to);
+        return request;
+    }
+
+    private FlightSearchResponse createResponse() {
+        FlightSearchResult result = new FlightSearchResult();
+        result.setAirline("TestAirline");
+        result.setSupplier("Local");
+        result.setFare(new BigDecimal("199.99"));
+        result.setDepartureAirport("JFK");
+        result.setDestinationAirport("LAX");
+        result.setDepartureTime(ZonedDateTime.parse("2025-06-22T10:00:00Z"));
+        result.setArrivalTime(ZonedDateTime.parse("2025-06-22T15:00:00Z"));
+        return new FlightSearchResponse(List.of(result));
+    }
+}
@@ -1,20 +1,32 @@
 package app.fdm.service;
 
+import app.fdm.config.FlightSearchCacheProperties;
+import app.fdm.dto.BulkFlightResponse;
 import app.fdm.dto.Flight;
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
 import app.fdm.repository.FlightRepository;
 import app.fdm.repository.model.FlightEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,11 +35,17 @@ class FlightServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @Mock
+    private FlightRouteIndex flightRouteIndex;
+
     private FlightService flightService;
 
     @BeforeEach
     void setUp() {
-        flightService = new FlightService(flightRepository);
+        flightService = new FlightService(flightRepository, flightSearchCache, flightRouteIndex, TransactionOperations.withoutTransaction(), 2);
     }
 
     @Test
@@ -46,6 +64,8 @@ class FlightServiceTest {
         assertEquals(savedEntity.getAirline(), result.getAirline());
         assertEquals(savedEntity.getFare(), result.getFare());
         verify(flightRepository).save(any(FlightEntity.class));
+        verify(flightRouteIndex).put(savedEntity);
+        verify(flightSearchCache).invalidateRoute(LocalFlightSearchService.SOURCE_NAME, "JFK", "LAX");
     }
 
     @Test
@@ -92,6 +112,21 @@ class FlightServiceTest {
         verify(flightRepository).deleteById(id);
     }
 
+    @Test
+    void deleteFlight_WhenFlightExists_ShouldInvalidateRoute() {
+        // Arrange
+        Long id = 1L;
+        when(flightRepository.findById(id)).thenReturn(Optional.of(createSampleFlightEntity()));
+
+        // Act
+        flightService.deleteFlight(id);
+
+        // Assert
+        verify(flightRepository).deleteById(id);
+        verify(flightRouteIndex).remove(id);
+        verify(flightSearchCache).invalidateRoute(LocalFlightSearchService.SOURCE_NAME, "JFK", "LAX");
+    }
+
     @Test
     void updateFlight_WhenFlightExists_ShouldUpdateAndReturnFlight() {
         // Arrange
@@ -112,6 +147,42 @@ class FlightServiceTest {
         assertEquals(updatedEntity.getAirline(), result.getAirline());
         verify(flightRepository).findById(id);
         verify(flightRepository).save(any(FlightEntity.class));
+        verify(flightRouteIndex).put(updatedEntity);
+    }
+
+    @Test
+    void updateFlight_WhenRouteChanges_ShouldStopServingOldRouteFromCache() {
+        // Arrange
+        FlightSearchCache cache = new FlightSearchCache(new FlightSearchCacheProperties(Duration.ofMinutes(1), 100, Map.of()),
+                new SimpleMeterRegistry());
+        FlightService service = new FlightService(flightRepository, cache, flightRouteIndex, TransactionOperations.withoutTransaction(), 2);
+        ReactiveFlightSearchService source = mock(ReactiveFlightSearchService.class);
+        when(source.getName()).thenReturn(LocalFlightSearchService.SOURCE_NAME);
+        when(source.findFlightsAsync(any())).thenReturn(Mono.just(new FlightSearchResponse(List.of())));
+        ReactiveFlightSearchService cached = cache.decorate(source);
+        FlightSearchRequest oldRoute = new FlightSearchRequest();
+        oldRoute.setFrom("JFK");
+        oldRoute.setTo("LAX");
+        cached.findFlightsAsync(oldRoute).block();
+
+        // save merges into the managed instance
+        FlightEntity managed = createSampleFlightEntity();
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(managed));
+        when(flightRepository.save(any(FlightEntity.class))).thenAnswer(invocation -> {
+            FlightEntity merged = invocation.getArgument(0);
+            managed.setDepartureAirport(merged.getDepartureAirport());
+            managed.setDestinationAirport(merged.getDestinationAirport());
+            return managed;
+        });
+        Flight moved = createSampleFlight();
+        moved.setDestinationAirport("SFO");
+
+        // Act
+        service.updateFlight(1L, moved);
+        cached.findFlightsAsync(oldRoute).block();
+
+        // Assert
+        verify(source, times(2)).findFlightsAsync(any());
     }
 
     @Test
@@ -127,6 +198,55 @@ class FlightServiceTest {
         verify(flightRepository, never()).save(any(FlightEntity.class));
     }
 
+    @Test
+    void saveFlights_ShouldSaveValidRowsInBatchesAndReportInvalidOnes() {
+        // Arrange
+        Flight invalid = createSampleFlight();
+        invalid.setAirline(null);
+        List<Flight> flights = List.of(createSampleFlight(), invalid, createSampleFlight(), createSampleFlight());
+        when(flightRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        BulkFlightResponse response = flightService.saveFlights(flights.iterator(), f -> {
+            if (f.getAirline() == null) {
+                throw new IllegalArgumentException("Airline cannot be null or blank");
+            }
+        });
+
+        // Assert
+        assertEquals(4, response.getReceived());
+        assertEquals(3, response.getSaved());
+        assertEquals(1, response.getFailed());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertEquals("Airline cannot be null or blank", response.getErrors().get(0).getMessage());
+        verify(flightRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void saveFlights_WhenBatchFails_ShouldRetryRowsAndReportFailingOne() {
+        // Arrange
+        Flight refused = createSampleFlight();
+        refused.setSupplier("refused");
+        List<Flight> flights = List.of(createSampleFlight(), refused);
+        when(flightRepository.saveAll(anyList())).thenThrow(new RuntimeException("constraint violation"));
+        when(flightRepository.save(any(FlightEntity.class))).thenAnswer(inv -> {
+            FlightEntity entity = inv.getArgument(0);
+            if ("refused".equals(entity.getSupplier())) {
+                throw new RuntimeException("constraint violation");
+            }
+            return entity;
+        });
+
+        // Act
+        BulkFlightResponse response = flightService.saveFlights(flights.iterator(), f -> { });
+
+        // Assert
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getSaved());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        verify(flightRouteIndex).putAll(argThat(saved -> saved.size() == 1));
+    }
+
     @Test
     void toFlightEntity_ShouldConvertFlightToEntity() {
         // Arrange
@@ -147,6 +267,21 @@ class FlightServiceTest {
         assertEquals(flight.getArrivalTime(), result.getArrivalTime());
     }
 
+    @Test
+    void toFlightEntity_ShouldKeepAirportCodesAsSubmitted() {
+        // Arrange
+        Flight flight = createSampleFlight();
+        flight.setDepartureAirport("jfk");
+        flight.setDestinationAirport("Lax");
+
+        // Act
+        FlightEntity entity = FlightService.toFlightEntity(flight);
+
+        // Assert
+        assertEquals("jfk", entity.getDepartureAirport());
+        assertEquals("Lax", entity.getDestinationAirport());
+    }
+
     @Test
     void fromFlightEntity_ShouldConvertEntityToFlight() {
         // Arrange
@@ -0,0 +1,177 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.Itinerary;
+import app.fdm.dto.ItinerarySearchRequest;
+import app.fdm.dto.ItinerarySearchResponse;
+import app.fdm.repository.FlightRepository;
+import app.fdm.repository.model.FlightEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItinerarySearchServiceTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-22T00:00:00Z");
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private long nextId = 1;
+
+    @Test
+    void findItineraries_ShouldJoinLegsRespectingConnectionTimes() {
+        // Arrange
+        ItinerarySearchService service = createService(
+                createFlight("JFK", "ORD", 8, 10, "100.00"),
+                // 30 minutes after landing, too short
+                createFlight("ORD", "HNL", 10.5, 18, "200.00"),
+                createFlight("ORD", "HNL", 12, 20, "250.00"),
+                createFlight("JFK", "HNL", 9, 21, "600.00"));
+
+        // Act
+        ItinerarySearchResponse response = service.findItineraries(createRequest("JFK", "HNL", 1, 10));
+
+        // Assert
+        assertEquals(2, response.getItineraries().size());
+        Itinerary connecting = response.getItineraries().get(0);
+        assertEquals(1, connecting.getStops());
+        assertEquals(List.of("JFK", "ORD"), connecting.getLegs().stream().map(FlightSearchResult::getDepartureAirport).toList());
+        assertEquals(BASE.plusHours(12), connecting.getLegs().get(1).getDepartureTime());
+        assertEquals(new BigDecimal("350.00"), connecting.getTotalFare());
+        assertEquals(BASE.plusHours(20), connecting.getArrivalTime());
+        assertEquals(0, response.getItineraries().get(1).getStops());
+    }
+
+    @Test
+    void findItineraries_WithoutStops_ShouldReturnOnlyDirectFlights() {
+        // Arrange
+        ItinerarySearchService service = createService(
+                createFlight("JFK", "ORD", 8, 10, "100.00"),
+                createFlight("ORD", "HNL", 12, 20, "250.00"),
+                createFlight("JFK", "HNL", 9, 21, "600.00"));
+
+        // Act
+        ItinerarySearchResponse response = service.findItineraries(createRequest("JFK", "HNL", 0, 10));
+
+        // Assert
+        assertEquals(1, response.getItineraries().size());
+        assertEquals(0, response.getItineraries().get(0).getStops());
+    }
+
+    @Test
+    void findItineraries_WithTwoStops_ShouldFindLongerConnections() {
+        // Arrange
+        ItinerarySearchService service = createService(
+                createFlight("JFK", "ORD", 8, 10, "100.00"),
+                createFlight("ORD", "SEA", 11, 15, "150.00"),
+                createFlight("SEA", "HNL", 16, 22, "200.00"),
+                // leads away from the destination
+                createFlight("ORD", "ATL", 11, 13, "80.00"));
+
+        // Act
+        ItinerarySearchResponse oneStop = service.findItineraries(createRequest("JFK", "HNL", 1, 10));
+        ItinerarySearchResponse twoStops = service.findItineraries(createRequest("JFK", "HNL", 2, 10));
+
+        // Assert
+        assertTrue(oneStop.getItineraries().isEmpty());
+        assertEquals(1, twoStops.getItineraries().size());
+        assertEquals(List.of("ORD", "SEA", "HNL"), twoStops.getItineraries().get(0).getLegs().stream()
+                .map(FlightSearchResult::getDestinationAirport).toList());
+    }
+
+    @Test
+    void findItineraries_WithLimit_ShouldKeepEarliestArrivals() {
+        // Arrange
+        ItinerarySearchService service = createService(
+                createFlight("JFK", "HNL", 9, 21, "300.00"),
+                createFlight("JFK", "HNL", 6, 18, "900.00"),
+                createFlight("JFK", "HNL", 12, 23, "100.00"));
+
+        // Act
+        ItinerarySearchResponse response = service.findItineraries(createRequest("JFK", "HNL", 0, 2));
+
+        // Assert
+        assertEquals(List.of(BASE.plusHours(18), BASE.plusHours(21)), response.getItineraries().stream()
+                .map(Itinerary::getArrivalTime).toList());
+    }
+
+    @Test
+    void findItineraries_WithArrivalTime_ShouldDropLaterTrips() {
+        // Arrange
+        ItinerarySearchService service = createService(
+                createFlight("JFK", "HNL", 9, 21, "300.00"),
+                createFlight("JFK", "HNL", 6, 18, "900.00"));
+        ItinerarySearchRequest request = createRequest("JFK", "HNL", 1, 10);
+        request.setArrivalTime(BASE.plusHours(20));
+
+        // Act
+        ItinerarySearchResponse response = service.findItineraries(request);
+
+        // Assert
+        assertEquals(1, response.getItineraries().size());
+        assertEquals(BASE.plusHours(18), response.getItineraries().get(0).getArrivalTime());
+    }
+
+    @Test
+    void findItineraries_AfterFlightRemoved_ShouldNotUseRoute() {
+        // Arrange
+        FlightEntity feeder = createFlight("JFK", "ORD", 8, 10, "100.00");
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(feeder, createFlight("ORD", "HNL", 12, 20, "250.00")));
+        FlightRouteIndex index = new FlightRouteIndex(flightRepository, true);
+        index.rebuild();
+        ItinerarySearchService service = new ItinerarySearchService(index, Duration.ofMinutes(45), Duration.ofHours(12), Duration.ofHours(24));
+
+        // Act
+        index.remove(feeder.getId());
+        ItinerarySearchResponse response = service.findItineraries(createRequest("JFK", "HNL", 1, 10));
+
+        // Assert
+        assertTrue(response.getItineraries().isEmpty());
+        assertTrue(index.destinationsFrom("JFK").isEmpty());
+    }
+
+    private ItinerarySearchService createService(FlightEntity... flights) {
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of(flights));
+        FlightRouteIndex index = new FlightRouteIndex(flightRepository, true);
+        index.rebuild();
+        return new ItinerarySearchService(index, Duration.ofMinutes(45), Duration.ofHours(12), Duration.ofHours(24));
+    }
+
+    private ItinerarySearchRequest createRequest(String from, String to, int maxStops, int limit) {
+        ItinerarySearchRequest request = new ItinerarySearchRequest();
+        request.setFrom(from);
+        request.setTo(to);
+        request.setDepartureTime(BASE);
+        request.setMaxStops(maxStops);
+        request.setLimit(limit);
+        return request;
+    }
+
+    private FlightEntity createFlight(String from, String to, double departureHour, double arrivalHour, String fare) {
+        FlightEntity entity = new FlightEntity();
+        entity.setId(nextId++);
+        entity.setAirline("Sample Airline");
+        entity.setSupplier("Sample Supplier");
+        entity.setFare(new BigDecimal(fare));
+        entity.setDepartureAirport(from);
+        entity.setDestinationAirport(to);
+        entity.setDepartureTime(BASE.plusMinutes((long) (departureHour * 60)));
+        entity.setArrivalTime(BASE.plusMinutes((long) (arrivalHour * 60)));
+        return entity;
+    }
+}
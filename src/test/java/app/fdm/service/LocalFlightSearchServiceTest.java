@@ -1,9 +1,12 @@
 
 package app.fdm.service;
 
+import app.fdm.dto.FareCalendarRequest;
+import app.fdm.dto.FareCalendarResponse;
 import app.fdm.dto.FlightSearchRequest;
 import app.fdm.dto.FlightSearchResponse;
 import app.fdm.dto.FlightSearchResult;
+import app.fdm.repository.DailyLowestFare;
 import app.fdm.repository.FlightRepository;
 import app.fdm.repository.model.FlightEntity;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +14,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +38,7 @@ class LocalFlightSearchServiceTest {
 
     @BeforeEach
     void setUp() {
-        searchService = new LocalFlightSearchService(flightRepository);
+        searchService = new LocalFlightSearchService(flightRepository, new FlightRouteIndex(flightRepository, false));
     }
 
     @Test
@@ -39,7 +47,7 @@ class LocalFlightSearchServiceTest {
         FlightSearchRequest request = new FlightSearchRequest();
         request.setFrom("JFK");
         request.setTo("LAX");
-        when(flightRepository.findByDepartureAirportAndDestinationAirport("JFK", "LAX"))
+        when(flightRepository.findAll(any(Specification.class)))
                 .thenReturn(Collections.emptyList());
 
         // Act
@@ -48,7 +56,7 @@ class LocalFlightSearchServiceTest {
         // Assert
         assertNotNull(response);
         assertTrue(response.getResults().isEmpty());
-        verify(flightRepository).findByDepartureAirportAndDestinationAirport("JFK", "LAX");
+        verify(flightRepository).findAll(any(Specification.class));
     }
 
     @Test
@@ -59,7 +67,7 @@ class LocalFlightSearchServiceTest {
         request.setTo("LAX");
 
         FlightEntity flight = createSampleFlightEntity();
-        when(flightRepository.findByDepartureAirportAndDestinationAirport("JFK", "LAX"))
+        when(flightRepository.findAll(any(Specification.class)))
                 .thenReturn(List.of(flight));
 
         // Act
@@ -71,7 +79,7 @@ class LocalFlightSearchServiceTest {
         FlightSearchResult result = response.getResults().get(0);
         assertEquals(flight.getAirline(), result.getAirline());
         assertEquals(flight.getDepartureAirport(), result.getDepartureAirport());
-        verify(flightRepository).findByDepartureAirportAndDestinationAirport("JFK", "LAX");
+        verify(flightRepository).findAll(any(Specification.class));
     }
 
     @Test
@@ -87,7 +95,7 @@ class LocalFlightSearchServiceTest {
         FlightEntity unitedFlight = createSampleFlightEntity();
         unitedFlight.setAirline("United");
 
-        when(flightRepository.findByDepartureAirportAndDestinationAirport("JFK", "LAX"))
+        when(flightRepository.findAll(any(Specification.class)))
                 .thenReturn(List.of(deltaflight, unitedFlight));
 
         // Act
@@ -117,7 +125,7 @@ class LocalFlightSearchServiceTest {
         invalidFlight.setDepartureTime(now.minusHours(1));
         invalidFlight.setArrivalTime(now.plusHours(7));
 
-        when(flightRepository.findByDepartureAirportAndDestinationAirport("JFK", "LAX"))
+        when(flightRepository.findAll(any(Specification.class)))
                 .thenReturn(List.of(validFlight, invalidFlight));
 
         // Act
@@ -129,6 +137,76 @@ class LocalFlightSearchServiceTest {
         assertEquals(validFlight.getDepartureTime(), response.getResults().get(0).getDepartureTime());
     }
 
+    @Test
+    void findFlights_WithRouteIndex_ShouldNotQueryRoute() {
+        // Arrange
+        ZonedDateTime now = ZonedDateTime.now();
+        FlightEntity early = createSampleFlightEntity();
+        early.setId(1L);
+        early.setDepartureTime(now.minusHours(2));
+        FlightEntity late = createSampleFlightEntity();
+        late.setId(2L);
+        late.setDepartureTime(now.plusHours(1));
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of(early, late));
+        FlightRouteIndex index = new FlightRouteIndex(flightRepository, true);
+        index.rebuild();
+        searchService = new LocalFlightSearchService(flightRepository, index);
+
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFrom("JFK");
+        request.setTo("LAX");
+        request.setDepartureTime(now);
+
+        // Act
+        FlightSearchResponse response = searchService.findFlights(request);
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals(late.getDepartureTime(), response.getResults().get(0).getDepartureTime());
+        verify(flightRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void findLowestFares_WithoutRouteIndex_ShouldUseAggregateQuery() {
+        // Arrange
+        DailyLowestFare dailyLowestFare = mock(DailyLowestFare.class);
+        when(dailyLowestFare.getDay()).thenReturn(LocalDate.parse("2025-06-23"));
+        when(dailyLowestFare.getLowestFare()).thenReturn(new BigDecimal("120.00"));
+        when(flightRepository.findLowestFarePerDay("JFK", "LAX", ZonedDateTime.parse("2025-06-22T00:00:00Z"),
+                ZonedDateTime.parse("2025-06-25T00:00:00Z"), "DELTA")).thenReturn(List.of(dailyLowestFare));
+        FareCalendarRequest calendar = createCalendarRequest();
+        calendar.setAirline("Delta");
+
+        // Act
+        FareCalendarResponse response = searchService.findLowestFares(calendar);
+
+        // Assert
+        assertEquals(3, response.getDays().size());
+        assertNull(response.getDays().get(0).getLowestFare());
+        assertEquals(new BigDecimal("120.00"), response.getDays().get(1).getLowestFare());
+        assertNull(response.getDays().get(2).getLowestFare());
+        verify(flightRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void findLowestFares_WithRouteIndex_ShouldNotQueryDatabase() {
+        // Arrange
+        FlightEntity flight = createSampleFlightEntity();
+        flight.setDepartureTime(ZonedDateTime.parse("2025-06-24T10:00:00Z"));
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of(flight));
+        FlightRouteIndex index = new FlightRouteIndex(flightRepository, true);
+        index.rebuild();
+        searchService = new LocalFlightSearchService(flightRepository, index);
+
+        // Act
+        FareCalendarResponse response = searchService.findLowestFares(createCalendarRequest());
+
+        // Assert
+        assertEquals(LocalDate.parse("2025-06-24"), response.getDays().get(2).getDate());
+        assertEquals(new BigDecimal("199.99"), response.getDays().get(2).getLowestFare());
+        verify(flightRepository, never()).findLowestFarePerDay(any(), any(), any(), any(), any());
+    }
+
     @Test
     void filterMatch_WithNullCriteria_ShouldReturnTrue() {
         // Arrange
@@ -156,6 +234,51 @@ class LocalFlightSearchServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    void findFlightsBatch_ShouldQueryOnceAndSplitResultsPerSearch() {
+        // Arrange
+        FlightSearchRequest jfkLax = new FlightSearchRequest();
+        jfkLax.setFrom("JFK");
+        jfkLax.setTo("LAX");
+        FlightSearchRequest laxJfk = new FlightSearchRequest();
+        laxJfk.setFrom("LAX");
+        laxJfk.setTo("JFK");
+
+        FlightEntity outbound = createSampleFlightEntity();
+        FlightEntity inbound = createSampleFlightEntity();
+        inbound.setDepartureAirport("LAX");
+        inbound.setDestinationAirport("JFK");
+        when(flightRepository.findAll(any(Specification.class)))
+                .thenReturn(List.of(outbound, inbound));
+
+        // Act
+        List<FlightSearchResponse> responses = searchService.findFlightsBatch(List.of(jfkLax, laxJfk));
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(1, responses.get(0).getResults().size());
+        assertEquals("LAX", responses.get(0).getResults().get(0).getDestinationAirport());
+        assertEquals(1, responses.get(1).getResults().size());
+        assertEquals("JFK", responses.get(1).getResults().get(0).getDestinationAirport());
+        verify(flightRepository, times(1)).findAll(any(Specification.class));
+    }
+
+    @Test
+    void findFlightsBatch_WithLowerCaseRoute_ShouldFindItsFlights() {
+        // Arrange
+        FlightSearchRequest jfkLax = new FlightSearchRequest();
+        jfkLax.setFrom("jfk");
+        jfkLax.setTo("lax");
+        when(flightRepository.findAll(any(Specification.class)))
+                .thenReturn(List.of(createSampleFlightEntity()));
+
+        // Act
+        List<FlightSearchResponse> responses = searchService.findFlightsBatch(List.of(jfkLax));
+
+        // Assert
+        assertEquals(1, responses.get(0).getResults().size());
+    }
+
     @Test
     void mapToServiceEntity_ShouldMapAllFields() {
         // Arrange
@@ -175,6 +298,15 @@ class LocalFlightSearchServiceTest {
         assertEquals(flight.getArrivalTime(), result.getArrivalTime());
     }
 
+    private FareCalendarRequest createCalendarRequest() {
+        FareCalendarRequest calendar = new FareCalendarRequest();
+        calendar.setFrom("JFK");
+        calendar.setTo("LAX");
+        calendar.setStartDate(LocalDate.parse("2025-06-22"));
+        calendar.setEndDate(LocalDate.parse("2025-06-24"));
+        return calendar;
+    }
+
     private FlightEntity createSampleFlightEntity() {
         FlightEntity entity = new FlightEntity();
         entity.setId(1L);
@@ -0,0 +1,68 @@
+package app.fdm.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMapTest {
+
+    @Test
+    void put_ShouldReturnPreviousValue() {
+        // Arrange
+        LongIntMap map = new LongIntMap();
+
+        // Act
+        int first = map.put(7L, 1);
+        int second = map.put(7L, 2);
+
+        // Assert
+        assertEquals(LongIntMap.NONE, first);
+        assertEquals(1, second);
+        assertEquals(2, map.get(7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void put_WhenGrowing_ShouldKeepAllEntries() {
+        // Arrange
+        LongIntMap map = new LongIntMap();
+
+        // Act
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 31, (int) key);
+        }
+
+        // Assert
+        assertEquals(10_000, map.size());
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals((int) key, map.get(key * 31));
+        }
+        assertEquals(LongIntMap.NONE, map.get(-1L));
+    }
+
+    @Test
+    void remove_ShouldKeepCollidingEntriesReachable() {
+        // Arrange
+        LongIntMap map = new LongIntMap();
+        for (long key = 0; key < 1_000; key++) {
+            map.put(key, (int) key);
+        }
+
+        // Act
+        for (long key = 0; key < 1_000; key += 2) {
+            assertEquals((int) key, map.remove(key));
+        }
+
+        // Assert
+        assertEquals(500, map.size());
+        for (long key = 0; key < 1_000; key++) {
+            assertEquals(key % 2 == 0 ? LongIntMap.NONE : (int) key, map.get(key));
+        }
+        assertEquals(LongIntMap.NONE, map.remove(0L));
+    }
+
+    @Test
+    void put_WithNegativeValue_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntMap().put(1L, -1));
+    }
+}
@@ -0,0 +1,110 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientFlightSearchServiceTest {
+
+    @Mock
+    private ReactiveFlightSearchService source;
+
+    private CircuitBreaker circuitBreaker;
+
+    private AdaptiveTimeout adaptiveTimeout;
+
+    private Semaphore bulkhead;
+
+    private ResilientFlightSearchService resilient;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(source.getName()).thenReturn("CrazySupplier");
+        circuitBreaker = new CircuitBreaker("CrazySupplier", 0.5, 4, 2, Duration.ofMinutes(1), 1, System::nanoTime);
+        adaptiveTimeout = new AdaptiveTimeout(0.99, 2.0, Duration.ofMillis(50), Duration.ofMillis(300));
+        bulkhead = new Semaphore(2);
+        resilient = new ResilientFlightSearchService(source, circuitBreaker, adaptiveTimeout, bulkhead);
+    }
+
+    @Test
+    void findFlightsAsync_WhenCircuitOpens_ShouldStopCallingSource() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.error(new RuntimeException("supplier down")));
+        resilient.findFlightsAsync(new FlightSearchRequest()).onErrorResume(e -> Mono.empty()).block();
+        resilient.findFlightsAsync(new FlightSearchRequest()).onErrorResume(e -> Mono.empty()).block();
+
+        assertThrows(SupplierUnavailableException.class, () -> resilient.findFlightsAsync(new FlightSearchRequest()).block());
+        verify(source, times(2)).findFlightsAsync(any());
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    void findFlightsAsync_WhenSourceIsSlowerThanTimeout_ShouldFailWithTimeout() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.delay(Duration.ofSeconds(5)).map(t -> new FlightSearchResponse(List.of())));
+
+        // Act
+        Throwable error = assertThrows(RuntimeException.class, () -> resilient.findFlightsAsync(new FlightSearchRequest()).block());
+
+        // Assert
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    void findFlightsAsync_WhenBulkheadIsFull_ShouldRejectWithoutCallingSource() {
+        // Arrange
+        bulkhead.acquireUninterruptibly(2);
+
+        assertThrows(SupplierUnavailableException.class, () -> resilient.findFlightsAsync(new FlightSearchRequest()).block());
+        verify(source, never()).findFlightsAsync(any());
+    }
+
+    @Test
+    void findFlightsAsync_WhenSourceIsFast_ShouldShrinkTimeoutToMinimum() {
+        // Arrange
+        when(source.findFlightsAsync(any())).thenReturn(Mono.just(new FlightSearchResponse(List.of())));
+
+        // Act
+        for (int i = 0; i < AdaptiveTimeout.RECALCULATE_EVERY; i++) {
+            resilient.findFlightsAsync(new FlightSearchRequest()).block();
+        }
+
+        // Assert
+        assertEquals(Duration.ofMillis(50), adaptiveTimeout.current());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void streamFlights_WhenSourceIsSlowerThanTimeout_ShouldKeepEarlyResultsAndCountFailure() {
+        // Arrange
+        FlightSearchResult early = new FlightSearchResult();
+        when(source.streamFlights(any())).thenReturn(Flux.concat(Flux.just(early), Flux.never()));
+
+        // Act
+        List<FlightSearchResult> results = resilient.streamFlights(new FlightSearchRequest()).collectList().block();
+        resilient.streamFlights(new FlightSearchRequest()).collectList().block();
+
+        // Assert
+        assertEquals(List.of(early), results);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, bulkhead.availablePermits());
+    }
+}
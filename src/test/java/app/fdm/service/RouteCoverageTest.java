@@ -0,0 +1,58 @@
+package app.fdm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCoverageTest {
+
+    @Test
+    void covers_WhenNoRoutesConfigured_ShouldCoverEveryRoute() {
+        assertTrue(RouteCoverage.ALL.covers("JFK", "LAX"));
+        assertTrue(RouteCoverage.ALL.covers(null, "LAX"));
+    }
+
+    @Test
+    void covers_ShouldMatchExactAndWildcardPatterns() {
+        // Arrange
+        RouteCoverage coverage = RouteCoverage.of(List.of("JFK-*", "*-lax", "AMS-CDG"), List.of());
+
+        assertTrue(coverage.covers("jfk", "SFO"));
+        assertTrue(coverage.covers("ORD", "LAX"));
+        assertTrue(coverage.covers("AMS", "CDG"));
+        assertFalse(coverage.covers("CDG", "AMS"));
+        assertFalse(coverage.covers("ORD", "SFO"));
+    }
+
+    @Test
+    void covers_WhenRouteIsExcluded_ShouldNotCoverIt() {
+        // Arrange
+        RouteCoverage coverage = RouteCoverage.of(List.of(), List.of("*-HNL"));
+
+        assertTrue(coverage.covers("JFK", "LAX"));
+        assertFalse(coverage.covers("JFK", "HNL"));
+    }
+
+    @Test
+    void covers_UnderTurkishDefaultLocale_ShouldStillMatchCodesWithI() {
+        // Arrange
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            RouteCoverage coverage = RouteCoverage.of(List.of("MIA-*"), List.of("*-HNL"));
+
+            assertTrue(coverage.covers("mia", "ord"));
+            assertFalse(coverage.covers("MIA", "hnl"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void of_WhenPatternIsMalformed_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> RouteCoverage.of(List.of("JFKLAX"), List.of()));
+    }
+}
@@ -0,0 +1,74 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultDedupTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-22T10:00:00Z");
+
+    @Test
+    void cheapest_ShouldMatchSameDepartureInstantAcrossZones() {
+        // Arrange
+        FlightSearchResult local = result("Local", "Delta", BASE, "200.00");
+        FlightSearchResult supplier = result("CrazySupplier", "delta", BASE.withZoneSameInstant(ZoneId.of("CET")), "180.00");
+
+        // Act
+        FlightSearchResponse response = SearchResultDedup.cheapest(List.of(response(local), response(supplier)), false);
+
+        // Assert
+        assertEquals(List.of(supplier), response.getResults());
+    }
+
+    @Test
+    void cheapest_OnEqualFares_ShouldKeepFirstSourceAndOrder() {
+        // Arrange
+        FlightSearchResult first = result("Local", "Delta", BASE, "200.00");
+        FlightSearchResult other = result("Local", "United", BASE, "300.00");
+        FlightSearchResult sameAsFirst = result("CrazySupplier", "Delta", BASE, "200.00");
+
+        // Act
+        FlightSearchResponse response = SearchResultDedup.cheapest(List.of(response(first, other), response(sameAsFirst)), false);
+
+        // Assert
+        assertEquals(List.of(first, other), response.getResults());
+    }
+
+    @Test
+    void cheapest_WhenFlightCannotBeIdentified_ShouldKeepEveryResult() {
+        // Arrange
+        FlightSearchResult noTime = result("Local", "Delta", null, "200.00");
+        FlightSearchResult sameNoTime = result("CrazySupplier", "Delta", null, "100.00");
+
+        // Act
+        FlightSearchResponse response = SearchResultDedup.cheapest(List.of(response(noTime), response(sameNoTime)), true);
+
+        // Assert
+        assertEquals(List.of(noTime, sameNoTime), response.getResults());
+        assertNull(response.getResults().get(0).getAlternatives());
+    }
+
+    private static FlightSearchResponse response(FlightSearchResult... results) {
+        return new FlightSearchResponse(List.of(results));
+    }
+
+    private static FlightSearchResult result(String supplier, String airline, ZonedDateTime departureTime, String fare) {
+        FlightSearchResult result = new FlightSearchResult();
+        result.setAirline(airline);
+        result.setSupplier(supplier);
+        result.setFare(new BigDecimal(fare));
+        result.setDepartureAirport("JFK");
+        result.setDestinationAirport("LAX");
+        result.setDepartureTime(departureTime);
+        result.setArrivalTime(departureTime == null ? null : departureTime.plusHours(5));
+        return result;
+    }
+}
@@ -0,0 +1,208 @@
+package app.fdm.service;
+
+import app.fdm.dto.FlightSearchRequest;
+import app.fdm.dto.FlightSearchResponse;
+import app.fdm.dto.FlightSearchResult;
+import app.fdm.dto.FlightSearchSort;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultPagingTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-06-22T00:00:00Z");
+
+    @Test
+    void page_WithoutPaging_ShouldConcatenateInSourceOrder() {
+        // Arrange
+        List<FlightSearchResponse> responses = List.of(
+                response(result("300", 1, 5)), response(result("100", 2, 3)));
+
+        // Act
+        FlightSearchResponse page = SearchResultPaging.page(new FlightSearchRequest(), responses, false);
+
+        // Assert
+        assertEquals(List.of("300", "100"), fares(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void page_WithSortAndLimit_ShouldReturnTopResultsAcrossSources() {
+        // Arrange
+        List<FlightSearchResponse> responses = List.of(
+                response(result("300", 1, 5), result("120", 4, 6)),
+                response(result("100", 2, 3), result("250", 3, 9)));
+
+        // Act
+        FlightSearchResponse page = SearchResultPaging.page(request(FlightSearchSort.FARE, 2, null), responses, false);
+
+        // Assert
+        assertEquals(List.of("100", "120"), fares(page));
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void page_WithCursor_ShouldWalkAllResultsWithoutOverlap() {
+        // Arrange
+        List<FlightSearchResponse> responses = List.of(
+                response(result("300", 1, 5), result("120", 4, 6), result("120", 1, 2)),
+                response(result("100", 2, 3), result("250", 3, 9)));
+
+        // Act
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            FlightSearchResponse page = SearchResultPaging.page(request(FlightSearchSort.FARE, 2, cursor), responses, false);
+            walked.addAll(fares(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(List.of("100", "120", "120", "250", "300"), walked);
+    }
+
+    @Test
+    void page_WithIdenticalResultsAcrossPageBoundaries_ShouldReturnEveryCopy() {
+        List<FlightSearchResponse> responses = List.of(
+                response(result("100", 1, 2), result("100", 1, 2), result("200", 1, 2)),
+                response(result("100", 1, 2), result("100", 1, 2), result("100", 1, 2)));
+
+        // Act
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            FlightSearchResponse page = SearchResultPaging.page(request(FlightSearchSort.FARE, 2, cursor), responses, false);
+            walked.addAll(fares(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(List.of("100", "100", "100", "100", "100", "200"), walked);
+    }
+
+    @Test
+    void page_ShouldNotReorderSourceLists() {
+        // Arrange
+        List<FlightSearchResult> source = List.of(result("300", 1, 5), result("100", 2, 3));
+
+        // Act
+        SearchResultPaging.page(request(FlightSearchSort.FARE, 1, null), List.of(new FlightSearchResponse(source)), false);
+
+        // Assert
+        assertEquals("300", source.get(0).getFare().toPlainString());
+    }
+
+    @Test
+    void order_ByDuration_ShouldPutShortestFlightFirst() {
+        // Arrange
+        List<FlightSearchResponse> responses = List.of(response(result("100", 1, 9), result("300", 2, 3)));
+
+        // Act
+        FlightSearchResponse page = SearchResultPaging.page(request(FlightSearchSort.DURATION, null, null), responses, false);
+
+        // Assert
+        assertEquals(List.of("300", "100"), fares(page));
+    }
+
+    @Test
+    void page_WithCursorOfOtherSort_ShouldReject() {
+        // Arrange
+        String cursor = new SearchCursor(FlightSearchSort.FARE, result("100", 1, 2), 1).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SearchResultPaging.page(request(FlightSearchSort.DURATION, 2, cursor), List.of(), false));
+    }
+
+    @Test
+    void page_WithDedup_ShouldKeepCheapestOfferOfEachFlight() {
+        // Arrange
+        FlightSearchRequest request = request(FlightSearchSort.FARE, 2, null);
+        request.setAlternatives(true);
+        List<FlightSearchResponse> responses = List.of(
+                response(offer("Local", "300", 1, 5), offer("Local", "350", 2, 6)),
+                response(offer("CrazySupplier", "250", 1, 5), offer("CrazySupplier", "400", 3, 7)));
+
+        // Act
+        FlightSearchResponse page = SearchResultPaging.page(request, responses, true);
+
+        // Assert
+        assertEquals(List.of("250", "350"), fares(page));
+        assertEquals("CrazySupplier", page.getResults().get(0).getSupplier());
+        assertEquals(1, page.getResults().get(0).getAlternatives().size());
+        assertEquals("Local", page.getResults().get(0).getAlternatives().get(0).getSupplier());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void page_WithDedupAndCursor_ShouldNotRepeatFlightOfEarlierPage() {
+        // Arrange
+        List<FlightSearchResponse> responses = List.of(
+                response(offer("Local", "100", 1, 5), offer("Local", "200", 2, 6)),
+                response(offer("CrazySupplier", "300", 3, 7), offer("CrazySupplier", "400", 1, 5)));
+
+        // Act
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            FlightSearchResponse page = SearchResultPaging.page(request(FlightSearchSort.FARE, 1, cursor), responses, true);
+            walked.addAll(fares(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(List.of("100", "200", "300"), walked);
+    }
+
+    @Test
+    void decode_WithGarbage_ShouldReject() {
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void decode_WithoutRepeats_ShouldReject() {
+        // Arrange
+        byte[] bytes = Base64.getUrlDecoder().decode(new SearchCursor(FlightSearchSort.FARE, result("100", 1, 2), 1).encode());
+        String shortCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(shortCursor));
+    }
+
+    private static FlightSearchRequest request(FlightSearchSort sort, Integer limit, String cursor) {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setSort(sort);
+        request.setLimit(limit);
+        request.setCursor(cursor);
+        return request;
+    }
+
+    private static FlightSearchResponse response(FlightSearchResult... results) {
+        return new FlightSearchResponse(List.of(results));
+    }
+
+    private static List<String> fares(FlightSearchResponse response) {
+        return response.getResults().stream().map(r -> r.getFare().toPlainString()).toList();
+    }
+
+    private static FlightSearchResult result(String fare, int departureHour, int arrivalHour) {
+        return offer("TestSupplier", fare, departureHour, arrivalHour);
+    }
+
+    private static FlightSearchResult offer(String supplier, String fare, int departureHour, int arrivalHour) {
+        FlightSearchResult result = new FlightSearchResult();
+        result.setAirline("TestAirline");
+        result.setSupplier(supplier);
+        result.setFare(new BigDecimal(fare));
+        result.setDepartureAirport("JFK");
+        result.setDestinationAirport("LAX");
+        result.setDepartureTime(BASE.plusHours(departureHour));
+        result.setArrivalTime(BASE.plusHours(arrivalHour));
+        return result;
+    }
+}
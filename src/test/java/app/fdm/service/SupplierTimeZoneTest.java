@@ -0,0 +1,71 @@
+package app.fdm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplierTimeZoneTest {
+
+    private final SupplierTimeZone cet = new SupplierTimeZone(ZoneId.of("CET"));
+
+    @Test
+    void startOfDay_ShouldReturnUtcInstantOfLocalMidnight() {
+        // Act
+        ZonedDateTime summer = cet.startOfDay("2025-06-22");
+        ZonedDateTime winter = cet.startOfDay("2025-01-15");
+
+        // Assert
+        assertEquals(ZonedDateTime.of(2025, 6, 21, 22, 0, 0, 0, ZoneOffset.UTC), summer);
+        assertEquals(ZonedDateTime.of(2025, 1, 14, 23, 0, 0, 0, ZoneOffset.UTC), winter);
+    }
+
+    @Test
+    void startOfDay_ShouldReuseInstantForSameDay() {
+        assertSame(cet.startOfDay("2025-06-22"), cet.startOfDay("2025-06-22"));
+    }
+
+    @Test
+    void startOfDay_OutsideCachedYears_ShouldStillConvert() {
+        assertEquals(ZonedDateTime.of(1999, 12, 30, 23, 0, 0, 0, ZoneOffset.UTC), cet.startOfDay("1999-12-31"));
+        assertEquals(ZonedDateTime.of(2150, 6, 30, 22, 0, 0, 0, ZoneOffset.UTC), cet.startOfDay("2150-07-01"));
+    }
+
+    @Test
+    void parseEpochDay_ShouldMatchLocalDate() {
+        for (LocalDate date = LocalDate.of(1896, 1, 1); date.isBefore(LocalDate.of(2104, 1, 1)); date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), SupplierTimeZone.parseEpochDay(date.toString()));
+        }
+    }
+
+    @Test
+    void parseEpochDay_WithInvalidDate_ShouldThrow() {
+        assertThrows(DateTimeParseException.class, () -> SupplierTimeZone.parseEpochDay("2025-02-29"));
+        assertThrows(DateTimeParseException.class, () -> SupplierTimeZone.parseEpochDay("2025-13-01"));
+        assertThrows(DateTimeParseException.class, () -> SupplierTimeZone.parseEpochDay("2025-1a-01"));
+        assertThrows(DateTimeParseException.class, () -> SupplierTimeZone.parseEpochDay("22/06/2025"));
+    }
+
+    @Test
+    void localDate_ShouldUseSupplierZone() {
+        assertEquals("2025-06-23", cet.localDate(ZonedDateTime.parse("2025-06-22T22:30:00Z")));
+        assertEquals("2025-06-22", cet.localDate(ZonedDateTime.parse("2025-06-22T21:30:00Z")));
+    }
+
+    @Test
+    void localDate_ShouldReuseFormattedDateOfCachedDays() {
+        // Act
+        String first = cet.localDate(ZonedDateTime.parse("2025-06-22T08:00:00Z"));
+        String second = cet.localDate(ZonedDateTime.parse("2025-06-22T15:00:00Z"));
+
+        // Assert
+        assertEquals("2025-06-22", first);
+        assertSame(first, second);
+        assertEquals("2150-01-01", cet.localDate(ZonedDateTime.parse("2150-01-01T12:00:00Z")));
+    }
+}